@@ -0,0 +1,13 @@
+package com.cesarschool.portalcientifico.config;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Configuração comum dos mappers MapStruct: são beans do Spring e um campo de destino sem origem
+ * interrompe a compilação, em vez de sair nulo na resposta.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MappingConfig {
+}
@@ -1,13 +0,0 @@
-package com.cesarschool.portalcientifico.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfig {
-    @Bean
-    public ModelMapper mapper(){
-        return new ModelMapper();
-    }
-}
\ No newline at end of file
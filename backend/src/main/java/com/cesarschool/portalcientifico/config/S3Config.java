@@ -1,68 +1,48 @@
 package com.cesarschool.portalcientifico.config;
 
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.net.URI;
 import java.time.Duration;
 
+/**
+ * Cliente e presigner do S3 são thread-safe e caros de construir, então existe uma única instância
+ * de cada, fechada pelo Spring no desligamento.
+ */
+@Configuration
 public class S3Config {
 
     private static final String ACCESS_KEY = "teste";
     private static final String SECRET_KEY = "teste";
     private static final String REGION = "us-east-1";
-    private static final String BUCKET_NAME = "portal-cientifico-upload";
+    public static final String BUCKET_NAME = "portal-cientifico-upload";
+    public static final Duration SIGNATURE_DURATION = Duration.ofMinutes(10);
 
-    public static S3Client createS3Client() {
+    @Bean
+    public S3Client s3Client() {
         return S3Client.builder()
                 .region(Region.of(REGION))
-                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .credentialsProvider(credentialsProvider())
                 .endpointOverride(URI.create("https://s3." + REGION + ".amazonaws.com"))
                 .build();
     }
 
-    public static void uploadFile(S3Client s3Client, String fileName, byte[] fileContent) {
-        try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(fileName)
-                    .contentType("application/octet-stream")
-                    .build();
-
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileContent));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload file to S3", e);
-        }
-    }
-
-    public static String generatePresignedUrl(String keyName) {
-        try (S3Presigner presigner = S3Presigner.builder()
+    @Bean
+    public S3Presigner s3Presigner() {
+        return S3Presigner.builder()
                 .region(Region.of(REGION))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)
-                ))
-                .build()) {
-
-            GetObjectRequest objectRequest = GetObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(keyName)
-                    .build();
-
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(10))
-                    .getObjectRequest(objectRequest)
-                    .build();
+                .credentialsProvider(credentialsProvider())
+                .build();
+    }
 
-            PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-            return presignedRequest.url().toExternalForm();
-        }
+    private static AwsCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.cesarschool.portalcientifico.domain.comment;
+
+import com.cesarschool.portalcientifico.config.MappingConfig;
+import com.cesarschool.portalcientifico.domain.comment.dto.CommentResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface CommentMapper {
+
+    @Mapping(target = "author", source = "user.name")
+    @Mapping(target = "likes", ignore = true)
+    CommentResponseDTO toResponse(Comment comment);
+}
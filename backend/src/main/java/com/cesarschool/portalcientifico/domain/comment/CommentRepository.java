@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,4 +16,21 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
         ORDER BY c.createdAt DESC
     """)
     Page<Comment> findByMaterialId(Long materialId, Pageable pageable);
+
+    /**
+     * Remove o comentário e decrementa o {@code comment_count} do material no mesmo comando.
+     * Retorna {@code 1} quando o comentário existia e {@code 0} caso contrário.
+     */
+    @Query(nativeQuery = true, value = """
+        WITH deleted AS (
+            DELETE FROM comments WHERE id = :commentId
+            RETURNING material_id
+        ), counter AS (
+            UPDATE materials m SET comment_count = m.comment_count - 1
+            FROM deleted d
+            WHERE m.id = d.material_id
+        )
+        SELECT count(*) FROM deleted
+        """)
+    long deleteAndDecrementCount(@Param("commentId") Long commentId);
 }
@@ -5,7 +5,6 @@ import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
 import com.cesarschool.portalcientifico.domain.user.User;
 import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,7 +19,7 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final MaterialRepository materialRepository;
-    private final ModelMapper mapper;
+    private final CommentMapper mapper;
 
     @Transactional
     public CommentResponseDTO addComment(Long materialId, String content, User user) {
@@ -39,23 +38,15 @@ public class CommentService {
 
         // Salva o comentário
         Comment saved = commentRepository.save(comment);
+        materialRepository.incrementCommentCount(materialId, 1);
 
         // Retorna a resposta do comentário
-        return CommentResponseDTO.builder()
-                .id(saved.getId())
-                .content(saved.getContent())
-                .author(saved.getUser().getName())
-                .createdAt(saved.getCreatedAt())
-                .build();
+        return mapper.toResponse(saved);
     }
 
     public Page<CommentResponseDTO> getCommentsByMaterialId(Long materialId, Pageable pageable) {
         return commentRepository.findByMaterialId(materialId, pageable)
-                .map(comment -> {
-                    CommentResponseDTO dto = mapper.map(comment, CommentResponseDTO.class);
-                    dto.setAuthor(comment.getUser().getName());
-                    return dto;
-                });
+                .map(mapper::toResponse);
     }
 
     public Optional<Comment> getCommentById(Long commentId) {
@@ -64,6 +55,6 @@ public class CommentService {
 
     @Transactional
     public void deleteComment(Long commentId) {
-        commentRepository.deleteById(commentId);
+        commentRepository.deleteAndDecrementCount(commentId);
     }
 }
@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "likes")
+@Table(name = "likes", indexes = {
+        @Index(name = "idx_likes_target", columnList = "target_type, target_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,4 @@
+package com.cesarschool.portalcientifico.domain.like;
+
+public record LikeCount(Long targetId, Long count) {
+}
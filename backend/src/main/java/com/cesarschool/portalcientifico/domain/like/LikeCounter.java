@@ -0,0 +1,23 @@
+package com.cesarschool.portalcientifico.domain.like;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Total de likes de um alvo, mantido na mesma transação que insere ou remove o {@link Like}.
+ * A tabela {@code likes} continua sendo a fonte da verdade e é usada para reconciliar os totais.
+ */
+@Entity
+@Table(name = "like_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeCounter {
+    @EmbeddedId
+    private LikeCounterId id;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+}
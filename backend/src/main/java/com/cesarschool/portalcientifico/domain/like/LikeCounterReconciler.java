@@ -0,0 +1,27 @@
+package com.cesarschool.portalcientifico.domain.like;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Corrige periodicamente eventuais divergências entre {@code like_counters} e a tabela {@code likes}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeCounterReconciler.class);
+
+    private final LikeCounterRepository likeCounterRepository;
+
+    @Scheduled(cron = "${api.likes.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        int updated = likeCounterRepository.reconcile() + likeCounterRepository.resetOrphans();
+        if (updated > 0) {
+            log.warn("{} contadores de likes estavam divergentes e foram corrigidos", updated);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cesarschool.portalcientifico.domain.like;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LikeCounterRepository extends JpaRepository<LikeCounter, LikeCounterId> {
+
+    @Query("""
+        SELECT new com.cesarschool.portalcientifico.domain.like.LikeCount(c.id.targetId, c.likeCount)
+        FROM LikeCounter c
+        WHERE c.id.targetType = :targetType AND c.id.targetId IN :targetIds
+        """)
+    List<LikeCount> findCounts(
+            @Param("targetType") TargetType targetType,
+            @Param("targetIds") Collection<Long> targetIds
+    );
+
+    /**
+     * Recalcula os totais a partir da tabela {@code likes}, alterando apenas os que divergem.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+        INSERT INTO like_counters (target_type, target_id, like_count)
+        SELECT l.target_type, l.target_id, count(*) FROM likes l
+        GROUP BY l.target_type, l.target_id
+        ON CONFLICT (target_type, target_id)
+        DO UPDATE SET like_count = EXCLUDED.like_count
+        WHERE like_counters.like_count <> EXCLUDED.like_count
+        """)
+    int reconcile();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+        UPDATE like_counters c SET like_count = 0
+        WHERE c.like_count <> 0
+          AND NOT EXISTS (SELECT 1 FROM likes l WHERE l.target_type = c.target_type AND l.target_id = c.target_id)
+        """)
+    int resetOrphans();
+}
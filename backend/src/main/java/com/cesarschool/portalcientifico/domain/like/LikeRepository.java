@@ -4,8 +4,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
 
@@ -31,14 +31,36 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
             @Param("targetId") Long targetId
     );
 
-    @Query("""
-        SELECT l FROM Like l
-        JOIN FETCH l.user u
-        WHERE u.id = :userId AND l.targetType = :targetType AND l.targetId = :targetId
+    /**
+     * Alterna o like em uma única instrução: remove o like existente ou, se não havia, insere um novo,
+     * e aplica a diferença em {@code like_counters}. Retorna {@code -1} quando o like foi removido,
+     * {@code 1} quando foi inserido e {@code 0} quando outra requisição inseriu o mesmo like ao mesmo
+     * tempo (a restrição única {@code uk_likes_user_target} descarta a duplicata).
+     */
+    @Query(nativeQuery = true, value = """
+        WITH deleted AS (
+            DELETE FROM likes
+            WHERE user_id = :userId AND target_type = :targetType AND target_id = :targetId
+            RETURNING 1
+        ), inserted AS (
+            INSERT INTO likes (user_id, target_type, target_id, created_at)
+            SELECT :userId, :targetType, :targetId, now()
+            WHERE NOT EXISTS (SELECT 1 FROM deleted)
+            ON CONFLICT (user_id, target_type, target_id) DO NOTHING
+            RETURNING 1
+        ), delta AS (
+            SELECT (SELECT count(*) FROM inserted) - (SELECT count(*) FROM deleted) AS value
+        ), counter AS (
+            INSERT INTO like_counters (target_type, target_id, like_count)
+            SELECT :targetType, :targetId, value FROM delta WHERE value <> 0
+            ON CONFLICT (target_type, target_id)
+            DO UPDATE SET like_count = like_counters.like_count + EXCLUDED.like_count
+        )
+        SELECT value FROM delta
         """)
-    Optional<Like> findByUserIdAndTarget(
+    long toggle(
             @Param("userId") String userId,
-            @Param("targetType") TargetType targetType,
+            @Param("targetType") String targetType,
             @Param("targetId") Long targetId
     );
 
@@ -52,9 +74,13 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     );
 
     @Query("""
-        SELECT l FROM Like l
-        JOIN FETCH l.user u
-        WHERE l.targetType = :type AND l.targetId in :targetIds
+        SELECT new com.cesarschool.portalcientifico.domain.like.LikeCount(l.targetId, COUNT(l))
+        FROM Like l
+        WHERE l.targetType = :targetType AND l.targetId IN :targetIds
+        GROUP BY l.targetId
         """)
-    List<Like> findByTargetTypeAndTargetIdIn(TargetType type, List<Long> targetIds);
+    List<LikeCount> countByTargetIds(
+            @Param("targetType") TargetType targetType,
+            @Param("targetIds") Collection<Long> targetIds
+    );
 }
@@ -1,52 +1,67 @@
 package com.cesarschool.portalcientifico.domain.like;
 
 import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LikeService {
 
     private final LikeRepository likeRepository;
+    private final LikeCounterRepository likeCounterRepository;
+    private final UserStatsService userStatsService;
 
+    /**
+     * Alterna o like do usuário com uma única ida ao banco. Quando duas requisições curtem o mesmo
+     * alvo ao mesmo tempo, apenas uma grava o like e ambas recebem {@code true}.
+     */
     @Transactional
     public boolean toggleLike(User user, TargetType targetType, Long targetId) {
-        var existingLike = likeRepository.findByUserIdAndTarget(user.getId(), targetType, targetId);
-
-        if (existingLike.isPresent()) {
-            likeRepository.delete(existingLike.get());
-            return false;
-        } else {
-            Like newLike = Like.builder()
-                    .user(user)
-                    .targetType(targetType)
-                    .targetId(targetId)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-            likeRepository.save(newLike);
-            return true;
+        long delta = likeRepository.toggle(user.getId(), targetType.name(), targetId);
+        if (targetType == TargetType.MATERIAL) {
+            userStatsService.materialLiked(targetId, delta);
         }
+        return delta >= 0;
     }
 
     public long countLikes(TargetType targetType, Long targetId) {
-        return likeRepository.countByTarget(targetType, targetId);
+        return likeCounterRepository.findById(new LikeCounterId(targetType, targetId))
+                .map(LikeCounter::getLikeCount)
+                .orElseGet(() -> likeRepository.countByTarget(targetType, targetId));
     }
 
     public boolean isLikedByUser(User user, TargetType targetType, Long targetId) {
         return likeRepository.existsByUserIdAndTarget(user.getId(), targetType, targetId);
     }
 
+    /**
+     * Lê os totais de uma página de alvos em {@code like_counters}. Alvos ainda sem contador são
+     * contados com um único {@code GROUP BY} na tabela {@code likes}.
+     */
     public Map<Long, Long> countLikesByTargetIds(TargetType type, List<Long> targetIds) {
-        List<Like> likes = likeRepository.findByTargetTypeAndTargetIdIn(type, targetIds);
+        if (targetIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        likeCounterRepository.findCounts(type, targetIds)
+                .forEach(count -> counts.put(count.targetId(), count.count()));
+
+        List<Long> missing = targetIds.stream()
+                .filter(id -> !counts.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            likeRepository.countByTargetIds(type, missing)
+                    .forEach(count -> counts.put(count.targetId(), count.count()));
+        }
 
-        return likes.stream()
-                .collect(Collectors.groupingBy(Like::getTargetId, Collectors.counting()));
+        counts.values().removeIf(count -> count == 0);
+        return counts;
     }
 }
@@ -0,0 +1,17 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+/**
+ * Formata tamanhos de arquivo para exibição, com uma casa decimal e unidades binárias (1 KB = 1024 B).
+ */
+public final class FileSizes {
+
+    private FileSizes() {
+    }
+
+    public static String format(long sizeInBytes) {
+        if (sizeInBytes < 1024) return sizeInBytes + " B";
+        int exp = (int) (Math.log(sizeInBytes) / Math.log(1024));
+        char unit = "KMGTPE".charAt(exp - 1);
+        return String.format("%.1f %sB", sizeInBytes / Math.pow(1024, exp), unit);
+    }
+}
@@ -6,6 +6,7 @@ import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
 import com.cesarschool.portalcientifico.domain.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +16,13 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "materials")
+@Table(name = "materials", indexes = {
+        @Index(name = "idx_materials_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_materials_total_download_id", columnList = "total_download, id"),
+        @Index(name = "idx_materials_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_materials_hot_score_id", columnList = "hot_score, id"),
+        @Index(name = "idx_materials_area_hot_score_id", columnList = "area, hot_score, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -75,10 +82,30 @@ public class Material {
     @OneToMany(mappedBy = "materialId", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Total de comentários, mantido pelo {@code CommentService} para que as listagens não carreguem os comentários.
+     */
+    @Column(name = "comment_count", nullable = false)
+    @ColumnDefault("0")
+    private long commentCount;
+
     @Column(name = "average_rating", columnDefinition = "double precision default 0")
     private Double averageRating;
 
     @Column(name = "total_rating")
     private Long totalRatings;
 
+    /**
+     * Pontuação de "em alta" calculada periodicamente pelo {@code MaterialHotScorer}.
+     */
+    @Column(name = "hot_score", nullable = false)
+    @ColumnDefault("0")
+    private double hotScore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @ColumnDefault("'READY'")
+    @Builder.Default
+    private MaterialStatus status = MaterialStatus.READY;
+
 }
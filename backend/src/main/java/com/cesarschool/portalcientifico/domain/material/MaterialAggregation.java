@@ -32,17 +32,7 @@ public class MaterialAggregation {
     private final GenericResponseService responseBuilder;
 
     public MaterialResponseDTO getMaterialAggregation(Long materialId, User user) {
-        MaterialResponseDTO material = materialService.getMaterialDetails(materialId);
-
-        long likeCount = likeService.countLikes(TargetType.MATERIAL, materialId);
-        boolean isLiked = likeService.isLikedByUser(user, TargetType.MATERIAL, materialId);
-        boolean userRating = ratingService.isRatedByUser(user, materialId);
-
-        material.setLiked(isLiked);
-        material.setLikeCount(likeCount);
-        material.setUserRating(userRating);
-
-        return material;
+        return materialService.getMaterialDetails(materialId, user);
     }
 
     public Page<CommentResponseDTO> getCommentsByMaterialId(Long materialId, Pageable pageable) {
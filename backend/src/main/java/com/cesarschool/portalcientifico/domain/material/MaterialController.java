@@ -111,8 +111,9 @@ public class MaterialController {
             @ApiResponse(responseCode = "404", description = "Material não encontrado")
     })
     @GetMapping("/{id}/download")
-    public ResponseEntity<DownloadUrlResponse> generateDownloadUrl(@PathVariable Long id) {
-        return ResponseEntity.ok(materialService.getFileNameByMaterialId(id));
+    public ResponseEntity<DownloadUrlResponse> generateDownloadUrl(@PathVariable Long id, @Parameter Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(materialService.getFileNameByMaterialId(id, user));
     }
 
     @GetMapping
@@ -128,6 +129,18 @@ public class MaterialController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(
+            summary = "Sugere termos para a busca de materiais",
+            description = "Retorna termos indexados que começam com o prefixo informado, dos mais frequentes para os menos frequentes."
+    )
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(materialService.autocomplete(prefix, limit));
+    }
+
     @GetMapping("/recommended")
     public ResponseEntity<Page<MaterialResponseDTO>> getRecommendedMaterials(
             @Parameter Authentication authentication,
@@ -144,12 +157,86 @@ public class MaterialController {
         return ResponseEntity.ok(topics);
     }
 
+    @Operation(
+            summary = "Lista materiais em alta",
+            description = "Ordena pela pontuação de atividade recente calculada periodicamente, opcionalmente restrita a uma área."
+    )
     @GetMapping("/trending")
-    public ResponseEntity<Page<MaterialResponseDTO>> getTrendingMaterials(Pageable pageable) {
-        Page<MaterialResponseDTO> result = materialService.getTrendingMaterials(pageable);
+    public ResponseEntity<Page<MaterialResponseDTO>> getTrendingMaterials(
+            @RequestParam(required = false) Area area,
+            Pageable pageable
+    ) {
+        Page<MaterialResponseDTO> result = materialService.getTrendingMaterials(area, pageable);
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+            summary = "Lista materiais por cursor",
+            description = "Versão paginada por cursor da listagem de materiais, ordenada do mais recente para o mais antigo. "
+                    + "Não calcula o total de elementos; use o nextCursor retornado no parâmetro after para obter a próxima fatia."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Materiais obtidos com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<MaterialResponseDTO>> getMaterialsFeed(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<TypeMaterial> type,
+            @RequestParam(required = false) List<Area> area,
+            @RequestParam(required = false) Integer dateRange,
+            @RequestParam(required = false) Integer minDownloads,
+            @Parameter(description = "Cursor retornado pela fatia anterior") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(materialService.getMaterialsFeed(search, type, area, dateRange, minDownloads, after, size));
+    }
+
+    @Operation(
+            summary = "Lista materiais recomendados por cursor",
+            description = "Versão paginada por cursor dos materiais recomendados para o usuário autenticado."
+    )
+    @GetMapping("/recommended/feed")
+    public ResponseEntity<CursorPageResponse<MaterialResponseDTO>> getRecommendedMaterialsFeed(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "Cursor retornado pela fatia anterior") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(materialService.getRecommendedMaterialsFeed(user, after, size));
+    }
+
+    @Operation(
+            summary = "Lista materiais em alta por cursor",
+            description = "Versão paginada por cursor dos materiais em alta."
+    )
+    @GetMapping("/trending/feed")
+    public ResponseEntity<CursorPageResponse<MaterialResponseDTO>> getTrendingMaterialsFeed(
+            @RequestParam(required = false) Area area,
+            @Parameter(description = "Cursor retornado pela fatia anterior") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(materialService.getTrendingMaterialsFeed(area, after, size));
+    }
+
+    @Operation(
+            summary = "Lista materiais de quem o usuário segue",
+            description = "Materiais publicados pelos autores seguidos pelo usuário autenticado, do mais recente para o mais antigo, paginados por cursor."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Materiais obtidos com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    @GetMapping("/following")
+    public ResponseEntity<CursorPageResponse<MaterialResponseDTO>> getFollowingFeed(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "Cursor retornado pela fatia anterior") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(materialService.getFollowingFeed(user, after, size));
+    }
+
     @Operation(
             summary = "Obtém todos os dados de um material",
             description = "Retorna os dados do material, quantidade de curtidas, se o usuário curtiu e comentários."
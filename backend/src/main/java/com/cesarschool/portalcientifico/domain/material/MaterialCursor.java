@@ -0,0 +1,63 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+import com.cesarschool.portalcientifico.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem paginada por keyset: o valor da chave de ordenação e o ID
+ * do último material entregue. Trafega como um token opaco em Base64 URL-safe.
+ */
+record MaterialCursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    static MaterialCursor of(Object sortKey, long id) {
+        return new MaterialCursor(String.valueOf(sortKey), id);
+    }
+
+    static MaterialCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Cursor inválido: " + token);
+            }
+            return new MaterialCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor inválido: " + token);
+        }
+    }
+
+    String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor inválido para esta listagem");
+        }
+    }
+
+    double sortKeyAsDouble() {
+        try {
+            return Double.parseDouble(sortKey);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor inválido para esta listagem");
+        }
+    }
+
+    int sortKeyAsInt() {
+        try {
+            return Integer.parseInt(sortKey);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor inválido para esta listagem");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da página de detalhes montada por {@link MaterialRepository#findDetailById}: material, autor,
+ * palavras-chave, total de likes e se o usuário curtiu ou avaliou o material, em uma única consulta.
+ */
+public interface MaterialDetailView {
+
+    /**
+     * Separa as palavras-chave agregadas em {@link #getKeywords()}; não aparece em texto digitado.
+     */
+    String KEYWORD_SEPARATOR = "\u001f";
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getType();
+
+    String getArea();
+
+    String getStatus();
+
+    String getFileName();
+
+    String getFileSize();
+
+    String getFileType();
+
+    Integer getTotalDownload();
+
+    Integer getTotalView();
+
+    Double getAverageRating();
+
+    Long getTotalRatings();
+
+    Long getCommentCount();
+
+    LocalDateTime getUploadDate();
+
+    LocalDateTime getCreatedAt();
+
+    String getAuthorId();
+
+    String getAuthor();
+
+    String getKeywords();
+
+    Long getLikeCount();
+
+    Boolean getLiked();
+
+    Boolean getRated();
+}
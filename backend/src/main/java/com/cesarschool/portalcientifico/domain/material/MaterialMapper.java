@@ -0,0 +1,62 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+import com.cesarschool.portalcientifico.config.MappingConfig;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.MaterialResponseDTO;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.List;
+
+/**
+ * Mapeamentos de material gerados em tempo de compilação. Só leem as propriedades declaradas aqui,
+ * então não disparam carregamento lazy de coleções que a resposta não usa.
+ */
+@Mapper(config = MappingConfig.class)
+public interface MaterialMapper {
+
+    /**
+     * Resposta do upload: tipo e área saem pelo nome da constante.
+     */
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "authorId", ignore = true)
+    @Mapping(target = "likeCount", ignore = true)
+    @Mapping(target = "liked", ignore = true)
+    @Mapping(target = "userRating", ignore = true)
+    MaterialResponseDTO toResponse(Material material);
+
+    /**
+     * Item de listagem, com tipo e área descritos e o nome do autor.
+     */
+    @Mapping(target = "type", source = "type.description")
+    @Mapping(target = "area", source = "area.description")
+    @Mapping(target = "author", source = "user.name")
+    @Mapping(target = "authorId", source = "user.id")
+    @Mapping(target = "likeCount", ignore = true)
+    @Mapping(target = "liked", ignore = true)
+    @Mapping(target = "userRating", ignore = true)
+    MaterialResponseDTO toSummary(Material material);
+
+    @Mapping(target = "type", qualifiedByName = "typeDescription")
+    @Mapping(target = "area", qualifiedByName = "areaDescription")
+    @Mapping(target = "keywords", qualifiedByName = "splitKeywords")
+    @Mapping(target = "userRating", source = "rated")
+    MaterialResponseDTO toDetail(MaterialDetailView detail);
+
+    @Named("typeDescription")
+    default String typeDescription(String type) {
+        return type == null ? null : TypeMaterial.valueOf(type).getDescription();
+    }
+
+    @Named("areaDescription")
+    default String areaDescription(String area) {
+        return area == null ? null : Area.valueOf(area).getDescription();
+    }
+
+    @Named("splitKeywords")
+    default List<String> splitKeywords(String keywords) {
+        return keywords == null ? List.of() : List.of(keywords.split(MaterialDetailView.KEYWORD_SEPARATOR));
+    }
+}
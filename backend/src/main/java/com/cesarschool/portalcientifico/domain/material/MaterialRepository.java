@@ -2,77 +2,328 @@ package com.cesarschool.portalcientifico.domain.material;
 
 import com.cesarschool.portalcientifico.domain.material.dto.Area;
 import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import com.cesarschool.portalcientifico.domain.material.trending.MaterialKeyword;
 import com.cesarschool.portalcientifico.domain.user.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MaterialRepository extends JpaRepository<Material, Long> {
 
+    @Query("SELECT m.id FROM Material m WHERE m.user = :user")
+    Page<Long> findIdsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND (:types        IS NULL OR m.type IN :types)
+          AND (:areas        IS NULL OR m.area IN :areas)
+          AND m.createdAt >= :pastDate
+          AND (:minDownloads IS NULL OR m.totalDownload >= :minDownloads)
+        """)
+    Page<Long> findIdsByFilters(
+            @Param("types")        List<TypeMaterial> types,
+            @Param("areas")        List<Area> areas,
+            @Param("pastDate") LocalDateTime pastDate,
+            @Param("minDownloads") Integer minDownloads,
+            Pageable pageable
+    );
+
+    @Query("SELECT m.id FROM Material m WHERE m.area IN :areas AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY")
+    Page<Long> findIdsByAreaIn(@Param("areas") List<Area> areas, Pageable pageable);
+
     @Query("""
-        SELECT m FROM Material m
-        JOIN FETCH m.user user
-        LEFT JOIN FETCH m.keywords keywords
-        LEFT JOIN FETCH m.comments comments
-        WHERE m.user = :user
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+        ORDER BY m.totalDownload DESC, m.id DESC
         """)
-    Page<Material> findByUser(User user, Pageable pageable);
+    Page<Long> findIdsOrderByTotalDownloadDesc(Pageable pageable);
 
     @Query("""
-        SELECT m FROM Material m
-        JOIN FETCH m.user user
-        LEFT JOIN FETCH m.keywords keywords
-        LEFT JOIN FETCH m.comments comments
-        WHERE (:search       IS NULL
-               OR LOWER(m.title)       LIKE LOWER(CONCAT('%', :search, '%'))
-               OR LOWER(m.description) LIKE LOWER(CONCAT('%', :search, '%')))
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
           AND (:types        IS NULL OR m.type IN :types)
           AND (:areas        IS NULL OR m.area IN :areas)
           AND m.createdAt >= :pastDate
           AND (:minDownloads IS NULL OR m.totalDownload >= :minDownloads)
+          AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id))
+        ORDER BY m.createdAt DESC, m.id DESC
         """)
-    Page<Material> findByFilters(
-            @Param("search")       String search,
+    List<Long> findIdsByFiltersAfter(
             @Param("types")        List<TypeMaterial> types,
             @Param("areas")        List<Area> areas,
             @Param("pastDate") LocalDateTime pastDate,
             @Param("minDownloads") Integer minDownloads,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(nativeQuery = true, value = """
+        SELECT m.id FROM materials m
+        WHERE m.search_vector @@ websearch_to_tsquery('portuguese', :search)
+          AND m.status = 'READY'
+          AND (:anyType OR m.type IN (:types))
+          AND (:anyArea OR m.area IN (:areas))
+          AND m.created_at >= :pastDate
+          AND m.total_download >= :minDownloads
+        ORDER BY ts_rank_cd(m.search_vector, websearch_to_tsquery('portuguese', :search)) DESC, m.id DESC
+        """, countQuery = """
+        SELECT count(*) FROM materials m
+        WHERE m.search_vector @@ websearch_to_tsquery('portuguese', :search)
+          AND m.status = 'READY'
+          AND (:anyType OR m.type IN (:types))
+          AND (:anyArea OR m.area IN (:areas))
+          AND m.created_at >= :pastDate
+          AND m.total_download >= :minDownloads
+        """)
+    Page<Long> searchIdsByRelevance(
+            @Param("search") String search,
+            @Param("anyType") boolean anyType,
+            @Param("types") List<String> types,
+            @Param("anyArea") boolean anyArea,
+            @Param("areas") List<String> areas,
+            @Param("pastDate") LocalDateTime pastDate,
+            @Param("minDownloads") int minDownloads,
             Pageable pageable
     );
 
-    @Query(""" 
-            SELECT m FROM Material m
-            JOIN FETCH m.user user
-            LEFT JOIN FETCH m.keywords keywords
-            LEFT JOIN FETCH m.comments comments
-            WHERE m.area IN :areas
-           """)
-    Page<Material> findByAreaIn(List<Area> areas, Pageable pageable);
+    /**
+     * Mesma busca de {@link #searchIdsByRelevance}, mas ordenada pelo {@link Sort} do pageable,
+     * que por ser uma consulta nativa deve referenciar nomes de colunas.
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT m.id FROM materials m
+        WHERE m.search_vector @@ websearch_to_tsquery('portuguese', :search)
+          AND m.status = 'READY'
+          AND (:anyType OR m.type IN (:types))
+          AND (:anyArea OR m.area IN (:areas))
+          AND m.created_at >= :pastDate
+          AND m.total_download >= :minDownloads
+        """, countQuery = """
+        SELECT count(*) FROM materials m
+        WHERE m.search_vector @@ websearch_to_tsquery('portuguese', :search)
+          AND m.status = 'READY'
+          AND (:anyType OR m.type IN (:types))
+          AND (:anyArea OR m.area IN (:areas))
+          AND m.created_at >= :pastDate
+          AND m.total_download >= :minDownloads
+        """)
+    Page<Long> searchIds(
+            @Param("search") String search,
+            @Param("anyType") boolean anyType,
+            @Param("types") List<String> types,
+            @Param("anyArea") boolean anyArea,
+            @Param("areas") List<String> areas,
+            @Param("pastDate") LocalDateTime pastDate,
+            @Param("minDownloads") int minDownloads,
+            Pageable pageable
+    );
 
-    @Query(""" 
-            SELECT m FROM Material m
-            JOIN FETCH m.user user
-            LEFT JOIN FETCH m.keywords keywords
-            LEFT JOIN FETCH m.comments comments
-            ORDER BY m.totalDownload DESC
-           """)
-    Page<Material> findAllByOrderByTotalDownloadDesc(Pageable pageable);
+    @Query(nativeQuery = true, value = """
+        SELECT m.id FROM materials m
+        WHERE m.search_vector @@ websearch_to_tsquery('portuguese', :search)
+          AND m.status = 'READY'
+          AND (:anyType OR m.type IN (:types))
+          AND (:anyArea OR m.area IN (:areas))
+          AND m.created_at >= :pastDate
+          AND m.total_download >= :minDownloads
+          AND (m.created_at < :createdAt OR (m.created_at = :createdAt AND m.id < :id))
+        ORDER BY m.created_at DESC, m.id DESC
+        LIMIT :limit
+        """)
+    List<Long> searchIdsAfter(
+            @Param("search") String search,
+            @Param("anyType") boolean anyType,
+            @Param("types") List<String> types,
+            @Param("anyArea") boolean anyArea,
+            @Param("areas") List<String> areas,
+            @Param("pastDate") LocalDateTime pastDate,
+            @Param("minDownloads") int minDownloads,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE materials SET search_vector = material_search_vector(id) WHERE id = :id")
+    void refreshSearchVector(@Param("id") Long id);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.area IN :areas
+          AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND (m.totalDownload < :totalDownload OR (m.totalDownload = :totalDownload AND m.id < :id))
+        ORDER BY m.totalDownload DESC, m.id DESC
+        """)
+    List<Long> findIdsByAreaInAfter(
+            @Param("areas") List<Area> areas,
+            @Param("totalDownload") int totalDownload,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND (m.totalDownload < :totalDownload OR (m.totalDownload = :totalDownload AND m.id < :id))
+        ORDER BY m.totalDownload DESC, m.id DESC
+        """)
+    List<Long> findIdsOrderByTotalDownloadDescAfter(
+            @Param("totalDownload") int totalDownload,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.user.id IN :userIds
+          AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND m.id < :id
+        ORDER BY m.id DESC
+        """)
+    List<Long> findIdsByUserIdInBefore(@Param("userIds") Collection<String> userIds, @Param("id") Long id, Limit limit);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+        ORDER BY m.hotScore DESC, m.id DESC
+        """)
+    Page<Long> findIdsOrderByHotScoreDesc(Pageable pageable);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.area = :area
+          AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+        ORDER BY m.hotScore DESC, m.id DESC
+        """)
+    Page<Long> findIdsByAreaOrderByHotScoreDesc(@Param("area") Area area, Pageable pageable);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND (m.hotScore < :hotScore OR (m.hotScore = :hotScore AND m.id < :id))
+        ORDER BY m.hotScore DESC, m.id DESC
+        """)
+    List<Long> findIdsOrderByHotScoreDescAfter(@Param("hotScore") double hotScore, @Param("id") Long id, Limit limit);
+
+    @Query("""
+        SELECT m.id FROM Material m
+        WHERE m.area = :area
+          AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND (m.hotScore < :hotScore OR (m.hotScore = :hotScore AND m.id < :id))
+        ORDER BY m.hotScore DESC, m.id DESC
+        """)
+    List<Long> findIdsByAreaOrderByHotScoreDescAfter(
+            @Param("area") Area area,
+            @Param("hotScore") double hotScore,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Recalcula {@code hot_score} como {@code log10(1 + atividade) + criação / decay}: a atividade soma
+     * downloads, likes e comentários desde {@code since} a uma fração das visualizações e das estrelas
+     * recebidas, e cada {@code decay} de diferença na data de criação equivale a dez vezes mais
+     * atividade. Como o termo de tempo é fixo por material, a pontuação só muda quando a atividade
+     * muda, e apenas essas linhas são reescritas.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+        WITH scores AS (
+            SELECT m.id,
+                   round((log(1 + 3 * coalesce(d.total, 0) + 2 * coalesce(l.total, 0) + 2 * coalesce(c.total, 0)
+                              + 0.1 * m.total_view + 0.5 * coalesce(r.rating_sum, 0))
+                          + extract(epoch FROM m.created_at) / :decaySeconds)::numeric, 6)::double precision AS score
+            FROM materials m
+            LEFT JOIN (SELECT material_id, count(*) AS total FROM material_downloads
+                       WHERE downloaded_at >= :since GROUP BY material_id) d ON d.material_id = m.id
+            LEFT JOIN (SELECT target_id, count(*) AS total FROM likes
+                       WHERE target_type = 'MATERIAL' AND created_at >= :since GROUP BY target_id) l ON l.target_id = m.id
+            LEFT JOIN (SELECT material_id, count(*) AS total FROM comments
+                       WHERE created_at >= :since GROUP BY material_id) c ON c.material_id = m.id
+            LEFT JOIN material_rating_stats r ON r.material_id = m.id
+            WHERE m.status = 'READY'
+        )
+        UPDATE materials m SET hot_score = s.score
+        FROM scores s
+        WHERE m.id = s.id AND m.hot_score <> s.score
+        """)
+    int refreshHotScores(@Param("since") LocalDateTime since, @Param("decaySeconds") double decaySeconds);
+
+    @Modifying
+    @Query("UPDATE Material m SET m.commentCount = m.commentCount + :delta WHERE m.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Material m SET m.status = :status WHERE m.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") MaterialStatus status);
 
-    @Query("SELECT k FROM Material m JOIN m.keywords k GROUP BY k ORDER BY COUNT(k) DESC")
-    List<String> findTopTrendingTags(Pageable pageable);
+    @Query("SELECT m.id FROM Material m WHERE m.status = :status AND m.createdAt < :before")
+    List<Long> findIdsByStatusAndCreatedAtBefore(@Param("status") MaterialStatus status, @Param("before") LocalDateTime before);
 
-    @Query(""" 
+    @Query("""
             SELECT m FROM Material m
             JOIN FETCH m.user user
             LEFT JOIN FETCH m.keywords keywords
-            LEFT JOIN FETCH m.comments comments
-            WHERE m.id = :id
+            WHERE m.id IN :ids
            """)
-    Optional<Material> findByIdWithJoin(Long id);
+    List<Material> findAllWithJoinByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.id FROM Material m WHERE m.id > :afterId AND m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY ORDER BY m.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT m FROM Material m LEFT JOIN FETCH m.keywords WHERE m.id IN :ids")
+    List<Material> findAllWithKeywordsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.cesarschool.portalcientifico.domain.material.trending.MaterialKeyword(m.id, k, m.createdAt) FROM Material m JOIN m.keywords k WHERE m.id IN :ids")
+    List<MaterialKeyword> findKeywordsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT new com.cesarschool.portalcientifico.domain.material.trending.MaterialKeyword(m.id, k, m.createdAt)
+        FROM Material m JOIN m.keywords k
+        WHERE m.status = com.cesarschool.portalcientifico.domain.material.MaterialStatus.READY
+          AND m.createdAt >= :since
+        """)
+    List<MaterialKeyword> findKeywordsCreatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Monta em um único round trip tudo o que a página de detalhes exibe, incluindo o total de likes
+     * (pelo contador, ou contando quando o alvo ainda não tem contador) e se {@code userId} curtiu ou
+     * avaliou o material.
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT m.id AS "id", m.title AS "title", m.description AS "description", m.type AS "type",
+               m.area AS "area", m.status AS "status", m.file_name AS "fileName", m.file_size AS "fileSize",
+               m.file_type AS "fileType", m.total_download AS "totalDownload", m.total_view AS "totalView",
+               m.average_rating AS "averageRating", m.total_rating AS "totalRatings",
+               m.comment_count AS "commentCount", m.upload_date AS "uploadDate", m.created_at AS "createdAt",
+               u.id AS "authorId", u.name AS "author",
+               (SELECT string_agg(k.keywords, E'\\x1f' ORDER BY k.keywords)
+                FROM material_keywords k WHERE k.material_id = m.id) AS "keywords",
+               coalesce((SELECT lc.like_count FROM like_counters lc
+                         WHERE lc.target_type = 'MATERIAL' AND lc.target_id = m.id),
+                        (SELECT count(*) FROM likes l
+                         WHERE l.target_type = 'MATERIAL' AND l.target_id = m.id)) AS "likeCount",
+               EXISTS (SELECT 1 FROM likes l
+                       WHERE l.target_type = 'MATERIAL' AND l.target_id = m.id AND l.user_id = :userId) AS "liked",
+               EXISTS (SELECT 1 FROM rating r WHERE r.material_id = m.id AND r.user_id = :userId) AS "rated"
+        FROM materials m
+        JOIN users u ON u.id = m.user_id
+        WHERE m.id = :id
+        """)
+    Optional<MaterialDetailView> findDetailById(@Param("id") Long id, @Param("userId") String userId);
 }
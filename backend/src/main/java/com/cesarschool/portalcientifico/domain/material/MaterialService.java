@@ -1,147 +1,422 @@
 package com.cesarschool.portalcientifico.domain.material;
 
+import com.cesarschool.portalcientifico.domain.material.counter.MaterialDownloadTracker;
+import com.cesarschool.portalcientifico.domain.material.counter.MaterialViewCounter;
 import com.cesarschool.portalcientifico.domain.material.dto.*;
+import com.cesarschool.portalcientifico.domain.material.recommendation.MaterialRecommender;
+import com.cesarschool.portalcientifico.domain.material.search.MaterialSearchIndex;
+import com.cesarschool.portalcientifico.domain.material.timeline.FollowingTimelines;
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import com.cesarschool.portalcientifico.domain.material.upload.MaterialUploadPipeline;
 import com.cesarschool.portalcientifico.domain.s3.S3Service;
 import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
+import com.cesarschool.portalcientifico.exception.MaterialNotReadyException;
+import com.cesarschool.portalcientifico.infra.transaction.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MaterialService {
 
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_RECOMMENDATIONS = 200;
+    private static final String RELEVANCE = "relevance";
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+            "title", "title",
+            "createdAt", "created_at",
+            "uploadDate", "upload_date",
+            "totalDownload", "total_download",
+            "totalView", "total_view",
+            "averageRating", "average_rating"
+    );
+    private static final LocalDateTime LAST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final MaterialRepository materialRepository;
     private final S3Service s3Service;
-    private final ModelMapper mapper;
+    private final MaterialMapper mapper;
+    private final MaterialSearchIndex searchIndex;
+    private final MaterialViewCounter viewCounter;
+    private final MaterialDownloadTracker downloadTracker;
+    private final MaterialUploadPipeline uploadPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final UserStatsService userStatsService;
+    private final FollowingTimelines followingTimelines;
+    private final TrendingTopics trendingTopics;
+    private final MaterialRecommender recommender;
 
-    @Transactional
+    /**
+     * Grava o material como {@code PENDING} em uma transação curta e delega o envio do arquivo ao
+     * {@link MaterialUploadPipeline}, para que nenhuma conexão do pool fique presa durante a transferência.
+     */
     public MaterialResponseDTO uploadMaterial(MaterialRequestDTO materialRequestDTO, User user, MultipartFile file) throws IOException {
-        var filename = s3Service.uploadFile(file);
+        Path staged = uploadPipeline.stage(file);
+        String filename = s3Service.generateFileName(file.getOriginalFilename());
 
-        Material material = Material.builder()
-                .title(materialRequestDTO.getTitle())
-                .description(materialRequestDTO.getDescription())
-                .type(materialRequestDTO.getType())
-                .area(materialRequestDTO.getArea())
-                .keywords(materialRequestDTO.getKeywords())
-                .fileName(filename)
-                .fileSize(formatFileSize(file.getSize()))
-                .fileType(file.getContentType())
-                .user(user)
-                .uploadDate(LocalDateTime.now())
-                .createdAt(LocalDateTime.now())
-                .build();
+        Material material;
+        try {
+            material = transactionTemplate.execute(status -> {
+                Material pending = Material.builder()
+                        .title(materialRequestDTO.getTitle())
+                        .description(materialRequestDTO.getDescription())
+                        .type(materialRequestDTO.getType())
+                        .area(materialRequestDTO.getArea())
+                        .keywords(materialRequestDTO.getKeywords())
+                        .fileName(filename)
+                        .fileSize(FileSizes.format(file.getSize()))
+                        .fileType(file.getContentType())
+                        .user(user)
+                        .uploadDate(LocalDateTime.now())
+                        .createdAt(LocalDateTime.now())
+                        .status(MaterialStatus.PENDING)
+                        .build();
 
-        materialRepository.save(material);
+                materialRepository.saveAndFlush(pending);
+                materialRepository.refreshSearchVector(pending.getId());
+                userStatsService.materialUploaded(user.getId());
+                return pending;
+            });
+        } catch (RuntimeException e) {
+            uploadPipeline.discard(staged);
+            throw e;
+        }
 
-        return mapper.map(material, MaterialResponseDTO.class);
+        uploadPipeline.submit(material.getId(), filename, staged);
+
+        return mapper.toResponse(material);
     }
 
-    public MaterialResponseDTO getMaterialDetails(Long id) {
-        Material material = materialRepository.findByIdWithJoin(id)
+    /**
+     * Detalhes do material na visão de {@code user}, lidos por {@link MaterialRepository#findDetailById}
+     * em uma única consulta; a visualização é registrada no contador em memória.
+     */
+    public MaterialResponseDTO getMaterialDetails(Long id, User user) {
+        MaterialDetailView detail = materialRepository.findDetailById(id, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Material não encontrado para o id: " + id));
 
-        material.setTotalView(material.getTotalView() + 1);
-        materialRepository.save(material);
-
-        MaterialResponseDTO dto = mapper.map(material, MaterialResponseDTO.class);
-
-        dto.setAuthor(material.getUser().getName());
-        dto.setArea(material.getArea().getDescription());
-        dto.setType(material.getType().getDescription());
-        dto.setAuthorId(material.getUser().getId());
+        viewCounter.increment(id);
 
+        MaterialResponseDTO dto = mapper.toDetail(detail);
+        dto.setTotalView((int) (detail.getTotalView() + viewCounter.pending(id)));
         return dto;
     }
 
     public Page<MaterialResponseDTO> getAllMaterialsByUser(User user, Pageable pageable) {
-        return materialRepository.findByUser(user, pageable)
-                .map(material -> {
-                    MaterialResponseDTO dto = mapper.map(material, MaterialResponseDTO.class);
-                    dto.setArea(material.getArea().getDescription());
-                    dto.setType(material.getType().getDescription());
-                    dto.setAuthor(material.getUser().getName());
-                    dto.setCommentCount(material.getComments().size());
-                    return dto;
-                });
-    }
-
-    public DownloadUrlResponse getFileNameByMaterialId(Long id) {
+        return loadPage(materialRepository.findIdsByUser(user, pageable))
+                .map(mapper::toSummary);
+    }
+
+    public DownloadUrlResponse getFileNameByMaterialId(Long id, User user) {
         Material material = materialRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Material não encontrado para o id: " + id));
+        if (material.getStatus() != MaterialStatus.READY) {
+            throw new MaterialNotReadyException("O arquivo do material ainda não está disponível: " + id);
+        }
         String presignedUrl = s3Service.generatePresignedUrl(material.getFileName());
+        downloadTracker.record(id, user.getId());
         return new DownloadUrlResponse(presignedUrl, material.getFileName());
     }
 
-    private String formatFileSize(long sizeInBytes) {
-        if (sizeInBytes < 1024) return sizeInBytes + " B";
-        int exp = (int) (Math.log(sizeInBytes) / Math.log(1024));
-        char unit = "KMGTPE".charAt(exp - 1);
-        return String.format("%.1f %sB", sizeInBytes / Math.pow(1024, exp), unit);
+    public Page<MaterialResponseDTO> getMaterials(String search, List<TypeMaterial> types, List<Area> areas, Integer dateRange, Integer minDownloads, Pageable pageable) {
+        LocalDateTime pastDate = pastDate(dateRange);
+        Page<Long> ids;
+        if (!hasText(search)) {
+            ids = materialRepository.findIdsByFilters(types, areas, pastDate, minDownloads, withoutRelevance(pageable));
+        } else if (canUseSearchIndex(dateRange, minDownloads, pageable)) {
+            ids = searchIndexPage(search, types, areas, pageable);
+        } else {
+            ids = searchIds(search.trim(), types, areas, pastDate, minDownloads, pageable);
+        }
+        return loadPage(ids).map(mapper::toSummary);
+    }
+
+    public List<String> autocomplete(String prefix, int limit) {
+        if (!searchIndex.isReady()) {
+            return List.of();
+        }
+        return searchIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    /**
+     * O índice em memória cobre busca por termos com filtros de tipo e área ordenada por relevância;
+     * filtros de data, downloads ou outras ordenações continuam indo ao banco.
+     */
+    private boolean canUseSearchIndex(Integer dateRange, Integer minDownloads, Pageable pageable) {
+        return searchIndex.isReady()
+                && dateRange == null
+                && minDownloads == null
+                && toColumnSort(pageable.getSort()).isUnsorted();
     }
 
-    public Page<MaterialResponseDTO> getMaterials(String search, List<TypeMaterial> types, List<Area> areas, Integer dateRange, Integer minDownloads, Pageable pageable) {
-        LocalDateTime pastDate = (dateRange != null)
+    private Page<Long> searchIndexPage(String search, List<TypeMaterial> types, List<Area> areas, Pageable pageable) {
+        long[] hits = searchIndex.search(search, types, areas);
+        int from = (int) Math.min(pageable.getOffset(), hits.length);
+        int to = Math.min(from + pageable.getPageSize(), hits.length);
+        List<Long> page = Arrays.stream(hits, from, to).boxed().toList();
+        return new PageImpl<>(page, pageable, hits.length);
+    }
+
+    /**
+     * Busca textual sobre o índice {@code search_vector}. Sem ordenação explícita, ou com
+     * {@code sort=relevance}, os resultados vêm ranqueados por relevância.
+     */
+    private Page<Long> searchIds(String search, List<TypeMaterial> types, List<Area> areas, LocalDateTime pastDate, Integer minDownloads, Pageable pageable) {
+        boolean anyType = types == null || types.isEmpty();
+        boolean anyArea = areas == null || areas.isEmpty();
+        int downloads = minDownloads != null ? minDownloads : 0;
+
+        Sort columnSort = toColumnSort(pageable.getSort());
+        if (columnSort.isUnsorted()) {
+            return materialRepository.searchIdsByRelevance(search, anyType, enumNames(types), anyArea, enumNames(areas),
+                    pastDate, downloads, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        }
+        return materialRepository.searchIds(search, anyType, enumNames(types), anyArea, enumNames(areas),
+                pastDate, downloads, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), columnSort));
+    }
+
+    private Sort toColumnSort(Sort sort) {
+        return Sort.by(sort.stream()
+                .filter(order -> SEARCH_SORT_COLUMNS.containsKey(order.getProperty()))
+                .map(order -> new Sort.Order(order.getDirection(), SEARCH_SORT_COLUMNS.get(order.getProperty())))
+                .toList());
+    }
+
+    private Pageable withoutRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE) == null) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !RELEVANCE.equals(order.getProperty()))
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private static List<String> enumNames(List<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of("");
+        }
+        return values.stream().map(Enum::name).toList();
+    }
+
+    private static LocalDateTime pastDate(Integer dateRange) {
+        return (dateRange != null)
                 ? LocalDateTime.now().minusYears(dateRange)
                 : LocalDateTime.of(1970, 1, 1, 0, 0);
-        search = search != null ? search : "";
-        return materialRepository
-                .findByFilters(search, types, areas, pastDate, minDownloads, pageable)
-                .map(material -> {
-                    MaterialResponseDTO dto = mapper.map(material, MaterialResponseDTO.class);
-                    dto.setArea(material.getArea().getDescription());
-                    dto.setCommentCount(material.getComments().size());
-                    dto.setType(material.getType().getDescription());
-                    dto.setAuthor(material.getUser().getName());
-                    return dto;
-                });
     }
 
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Recomendações do modelo item-item em memória, paginadas sobre os {@code MAX_RECOMMENDATIONS}
+     * primeiros; usuários sem interações no modelo recebem os materiais das áreas preferidas ou,
+     * sem elas, os mais baixados.
+     */
     public Page<MaterialResponseDTO> getRecommendedMaterials(User user, Pageable pageable) {
+        List<Long> recommended = recommender.recommend(user, MAX_RECOMMENDATIONS);
+        if (!recommended.isEmpty()) {
+            int from = (int) Math.min(pageable.getOffset(), recommended.size());
+            int to = Math.min(from + pageable.getPageSize(), recommended.size());
+            return new PageImpl<>(loadInOrder(recommended.subList(from, to)), pageable, recommended.size())
+                    .map(mapper::toSummary);
+        }
+
         var preferredAreas = user.getPreferredAreas();
 
-        Page<Material> page;
+        Page<Long> ids;
 
         if (preferredAreas == null || preferredAreas.isEmpty()) {
-            page = materialRepository.findAllByOrderByTotalDownloadDesc(pageable);
+            ids = materialRepository.findIdsOrderByTotalDownloadDesc(pageable);
         } else {
-            page = materialRepository.findByAreaIn(preferredAreas, pageable);
+            ids = materialRepository.findIdsByAreaIn(preferredAreas, pageable);
         }
 
-        return page.map(material -> {
-            MaterialResponseDTO dto = mapper.map(material, MaterialResponseDTO.class);
-            dto.setArea(material.getArea().getDescription());
-            dto.setType(material.getType().getDescription());
-            dto.setAuthor(material.getUser().getName());
-            return dto;
-        });
+        return loadPage(ids).map(mapper::toSummary);
     }
 
     public List<String> getTrendingTopics() {
-        return materialRepository.findTopTrendingTags(PageRequest.of(0, 10));
+        return trendingTopics.top(10);
     }
 
-    public Page<MaterialResponseDTO> getTrendingMaterials(Pageable pageable) {
-        return materialRepository.findAllByOrderByTotalDownloadDesc(pageable)
-                .map(material -> {
-                    MaterialResponseDTO dto = mapper.map(material, MaterialResponseDTO.class);
-                    dto.setArea(material.getArea().getDescription());
-                    dto.setType(material.getType().getDescription());
-                    dto.setAuthor(material.getUser().getName());
-                    return dto;
-                });
+    /**
+     * Materiais em alta pela pontuação pré-calculada em {@code hot_score}, opcionalmente de uma área.
+     */
+    public Page<MaterialResponseDTO> getTrendingMaterials(Area area, Pageable pageable) {
+        Page<Long> ids = area == null
+                ? materialRepository.findIdsOrderByHotScoreDesc(pageable)
+                : materialRepository.findIdsByAreaOrderByHotScoreDesc(area, pageable);
+        return loadPage(ids).map(mapper::toSummary);
+    }
+
+    public CursorPageResponse<MaterialResponseDTO> getMaterialsFeed(String search, List<TypeMaterial> types, List<Area> areas, Integer dateRange, Integer minDownloads, String after, int size) {
+        LocalDateTime pastDate = pastDate(dateRange);
+        int limit = feedSize(size);
+
+        LocalDateTime createdAt = LAST_CREATED_AT;
+        long id = Long.MAX_VALUE;
+        if (after != null) {
+            MaterialCursor cursor = MaterialCursor.decode(after);
+            createdAt = cursor.sortKeyAsDateTime();
+            id = cursor.id();
+        }
+
+        List<Long> ids = hasText(search)
+                ? materialRepository.searchIdsAfter(search.trim(), types == null || types.isEmpty(), enumNames(types),
+                        areas == null || areas.isEmpty(), enumNames(areas), pastDate,
+                        minDownloads != null ? minDownloads : 0, createdAt, id, limit + 1)
+                : materialRepository.findIdsByFiltersAfter(types, areas, pastDate, minDownloads, createdAt, id, Limit.of(limit + 1));
+        return toCursorPage(ids, limit, Material::getCreatedAt);
+    }
+
+    /**
+     * Versão por cursor de {@link #getRecommendedMaterials}: percorre as recomendações do modelo com um
+     * cursor pela posição na lista e só recorre às áreas preferidas ou aos mais baixados quando o
+     * modelo não tem nada para o usuário.
+     */
+    public CursorPageResponse<MaterialResponseDTO> getRecommendedMaterialsFeed(User user, String after, int size) {
+        int limit = feedSize(size);
+        MaterialCursor cursor = after != null ? MaterialCursor.decode(after) : null;
+
+        List<Long> recommended = recommender.recommend(user, MAX_RECOMMENDATIONS);
+        if (!recommended.isEmpty()) {
+            int from = cursor != null ? rankAfter(recommended, cursor) : 0;
+            int to = Math.min(from + limit + 1, recommended.size());
+            return toIdCursorPage(recommended.subList(from, to), limit, last -> from + limit);
+        }
+
+        var preferredAreas = user.getPreferredAreas();
+        int totalDownload = cursor != null ? cursor.sortKeyAsInt() : Integer.MAX_VALUE;
+        long id = cursor != null ? cursor.id() : Long.MAX_VALUE;
+
+        List<Long> ids;
+        if (preferredAreas == null || preferredAreas.isEmpty()) {
+            ids = materialRepository.findIdsOrderByTotalDownloadDescAfter(totalDownload, id, Limit.of(limit + 1));
+        } else {
+            ids = materialRepository.findIdsByAreaInAfter(preferredAreas, totalDownload, id, Limit.of(limit + 1));
+        }
+        return toCursorPage(ids, limit, Material::getTotalDownload);
+    }
+
+    /**
+     * Posição da lista de recomendações a partir da qual continuar. Se o modelo foi reconstruído entre
+     * as páginas, continua logo após o último material entregue quando ele ainda está na lista.
+     */
+    private static int rankAfter(List<Long> recommended, MaterialCursor cursor) {
+        int rank = Math.max(cursor.sortKeyAsInt(), 0);
+        if (rank > 0 && rank <= recommended.size() && recommended.get(rank - 1) == cursor.id()) {
+            return rank;
+        }
+        int index = recommended.indexOf(cursor.id());
+        return index >= 0 ? index + 1 : Math.min(rank, recommended.size());
+    }
+
+    public CursorPageResponse<MaterialResponseDTO> getTrendingMaterialsFeed(Area area, String after, int size) {
+        int limit = feedSize(size);
+
+        double hotScore = Double.MAX_VALUE;
+        long id = Long.MAX_VALUE;
+        if (after != null) {
+            MaterialCursor cursor = MaterialCursor.decode(after);
+            hotScore = cursor.sortKeyAsDouble();
+            id = cursor.id();
+        }
+
+        List<Long> ids = area == null
+                ? materialRepository.findIdsOrderByHotScoreDescAfter(hotScore, id, Limit.of(limit + 1))
+                : materialRepository.findIdsByAreaOrderByHotScoreDescAfter(area, hotScore, id, Limit.of(limit + 1));
+        return toCursorPage(ids, limit, Material::getHotScore);
+    }
+
+    /**
+     * Materiais dos autores seguidos pelo usuário, do mais recente para o mais antigo, lidos dos
+     * timelines de {@link FollowingTimelines} em vez de um join entre {@code follow} e {@code materials}.
+     */
+    public CursorPageResponse<MaterialResponseDTO> getFollowingFeed(User user, String after, int size) {
+        int limit = feedSize(size);
+        long id = after != null ? MaterialCursor.decode(after).id() : Long.MAX_VALUE;
+
+        List<Long> ids = followingTimelines.idsBefore(user.getId(), id, limit + 1);
+        return toIdCursorPage(ids, limit, last -> last);
+    }
+
+    private int feedSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+    }
+
+    /**
+     * Monta a fatia a partir de uma consulta que buscou {@code limit + 1} IDs: o excedente
+     * indica que há próxima página e o último material entregue vira o cursor.
+     */
+    private CursorPageResponse<MaterialResponseDTO> toCursorPage(List<Long> ids, int limit, Function<Material, Object> sortKey) {
+        boolean hasNext = ids.size() > limit;
+        List<Material> materials = loadInOrder(hasNext ? ids.subList(0, limit) : ids);
+
+        String nextCursor = null;
+        if (hasNext && !materials.isEmpty()) {
+            Material last = materials.getLast();
+            nextCursor = MaterialCursor.of(sortKey.apply(last), last.getId()).encode();
+        }
+
+        List<MaterialResponseDTO> content = materials.stream().map(mapper::toSummary).toList();
+        return new CursorPageResponse<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Variante de {@link #toCursorPage} para feeds lidos de estruturas em memória (timelines e modelo
+     * de recomendações): o cursor é montado a partir do último ID da página e não do último material
+     * carregado, de modo que IDs de materiais já excluídos não interrompem a paginação.
+     */
+    private CursorPageResponse<MaterialResponseDTO> toIdCursorPage(List<Long> ids, int limit, Function<Long, Object> sortKey) {
+        boolean hasNext = ids.size() > limit;
+        List<Long> page = hasNext ? ids.subList(0, limit) : ids;
+        String nextCursor = hasNext ? MaterialCursor.of(sortKey.apply(page.getLast()), page.getLast()).encode() : null;
+
+        List<MaterialResponseDTO> content = loadInOrder(page).stream().map(mapper::toSummary).toList();
+        return new CursorPageResponse<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Carrega as entidades de uma página de IDs já paginada no banco, preservando a ordem da página.
+     */
+    private Page<Material> loadPage(Page<Long> ids) {
+        return new PageImpl<>(loadInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<Material> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Material> materialsById = materialRepository.findAllWithJoinByIdIn(ids).stream()
+                .collect(Collectors.toMap(Material::getId, Function.identity()));
+        return ids.stream()
+                .map(materialsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional
@@ -152,6 +427,15 @@ public class MaterialService {
         if (!material.getUser().getId().equals(user.getId())) {
             throw new AccessDeniedException("Você não tem permissão para deletar este material");
         }
+        userStatsService.materialDeleted(id);
+        Set<String> keywords = material.getKeywords() == null ? Set.of() : Set.copyOf(material.getKeywords());
         materialRepository.delete(material);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.remove(id);
+            if (material.getStatus() == MaterialStatus.READY) {
+                trendingTopics.recordDelete(keywords, material.getCreatedAt());
+                followingTimelines.remove(id, user.getId());
+            }
+        });
     }
 }
@@ -0,0 +1,11 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+/**
+ * Situação do arquivo de um material: {@code PENDING} enquanto o envio ao S3 está em andamento,
+ * {@code READY} quando o arquivo está disponível e {@code FAILED} quando o envio não pôde ser concluído.
+ */
+public enum MaterialStatus {
+    PENDING,
+    READY,
+    FAILED
+}
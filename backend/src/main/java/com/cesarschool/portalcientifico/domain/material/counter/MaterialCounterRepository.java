@@ -0,0 +1,55 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica em lote os incrementos acumulados em memória nos contadores da tabela {@code materials}.
+ * Os incrementos são relativos ({@code coluna = coluna + ?}), então não há leitura prévia nem perda
+ * de atualizações concorrentes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MaterialCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void incrementViews(Map<Long, Long> deltas) {
+        increment("UPDATE materials SET total_view = total_view + ? WHERE id = ?", deltas);
+    }
+
+    /**
+     * Incrementa {@code total_download}, o total de downloads do autor em {@code user_stats} e grava o
+     * log de downloads na mesma transação, para que contadores e log não divirjam quando o lote falha.
+     */
+    @Transactional
+    public void applyDownloads(Map<Long, Long> deltas, List<MaterialDownloadEvent> events) {
+        increment("UPDATE materials SET total_download = total_download + ? WHERE id = ?", deltas);
+        increment("""
+                INSERT INTO user_stats (user_id, total_uploads, total_downloads, total_likes, followers, following, rating_sum, rating_count)
+                SELECT m.user_id, 0, ?, 0, 0, 0, 0, 0 FROM materials m WHERE m.id = ?
+                ON CONFLICT (user_id) DO UPDATE SET total_downloads = user_stats.total_downloads + EXCLUDED.total_downloads
+                """, deltas);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO material_downloads (material_id, user_id, downloaded_at) VALUES (?, ?, ?)",
+                events.stream()
+                        .map(event -> new Object[]{event.materialId(), event.userId(), Timestamp.valueOf(event.downloadedAt())})
+                        .toList());
+    }
+
+    private void increment(String sql, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> batch.add(new Object[]{delta, id}));
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+}
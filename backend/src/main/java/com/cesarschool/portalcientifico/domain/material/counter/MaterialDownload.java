@@ -0,0 +1,34 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro imutável de um download, usado apenas para análises. As linhas são inseridas em lote
+ * pelo {@link MaterialDownloadTracker} e nunca atualizadas.
+ */
+@Entity
+@Table(name = "material_downloads", indexes = {
+        @Index(name = "idx_material_downloads_material_id_downloaded_at", columnList = "material_id, downloaded_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterialDownload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "material_id", nullable = false)
+    private Long materialId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "downloaded_at", nullable = false)
+    private LocalDateTime downloadedAt;
+}
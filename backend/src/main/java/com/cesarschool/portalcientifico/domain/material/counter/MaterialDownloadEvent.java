@@ -0,0 +1,6 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import java.time.LocalDateTime;
+
+public record MaterialDownloadEvent(Long materialId, String userId, LocalDateTime downloadedAt) {
+}
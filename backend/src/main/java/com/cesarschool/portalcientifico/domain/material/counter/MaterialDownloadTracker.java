@@ -0,0 +1,84 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registra downloads sem escrita síncrona no banco: os eventos entram em um buffer circular limitado
+ * e são drenados periodicamente, agregados por material e gravados em lote junto com o log de downloads.
+ * Quando o buffer está cheio o evento é descartado e contabilizado, para não bloquear o endpoint.
+ */
+@Component
+public class MaterialDownloadTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialDownloadTracker.class);
+
+    private final MaterialCounterRepository counterRepository;
+    private final TrendingTopics trendingTopics;
+    private final int capacity;
+    private final BlockingQueue<MaterialDownloadEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private List<MaterialDownloadEvent> retry = List.of();
+
+    public MaterialDownloadTracker(MaterialCounterRepository counterRepository,
+                                   TrendingTopics trendingTopics,
+                                   @Value("${api.counters.download-buffer-size:10000}") int capacity) {
+        this.counterRepository = counterRepository;
+        this.trendingTopics = trendingTopics;
+        this.capacity = capacity;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void record(Long materialId, String userId) {
+        if (!buffer.offer(new MaterialDownloadEvent(materialId, userId, LocalDateTime.now()))) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.counters.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            log.warn("Buffer de downloads cheio; {} eventos descartados", lost);
+        }
+
+        List<MaterialDownloadEvent> events = new ArrayList<>(retry);
+        retry = List.of();
+        buffer.drainTo(events);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> deltas = new HashMap<>();
+        for (MaterialDownloadEvent event : events) {
+            deltas.merge(event.materialId(), 1L, Long::sum);
+        }
+
+        try {
+            counterRepository.applyDownloads(deltas, events);
+            trendingTopics.recordDownloads(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar {} downloads; tentando novamente no próximo ciclo", events.size(), e);
+            retry = events.size() > capacity ? events.subList(events.size() - capacity, events.size()) : events;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
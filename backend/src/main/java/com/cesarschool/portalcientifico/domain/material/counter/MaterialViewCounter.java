@@ -0,0 +1,67 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de visualizações com escrita adiada: cada visualização só incrementa um {@link LongAdder}
+ * em memória, e os totais acumulados são gravados em lote periodicamente e no desligamento.
+ */
+@Component
+@RequiredArgsConstructor
+public class MaterialViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialViewCounter.class);
+
+    private final MaterialCounterRepository counterRepository;
+    private final TrendingTopics trendingTopics;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(Long materialId) {
+        pending.computeIfAbsent(materialId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Visualizações registradas e ainda não gravadas no banco.
+     */
+    public long pending(Long materialId) {
+        LongAdder adder = pending.get(materialId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${api.counters.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(id, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            counterRepository.incrementViews(deltas);
+            trendingTopics.recordViews(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar {} contadores de visualização; tentando novamente no próximo ciclo", deltas.size(), e);
+            deltas.forEach((id, delta) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,21 @@
+package com.cesarschool.portalcientifico.domain.material.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Fatia de resultados paginada por cursor. Não carrega o total de elementos:
+ * o cliente segue {@code nextCursor} enquanto {@code hasNext} for verdadeiro.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
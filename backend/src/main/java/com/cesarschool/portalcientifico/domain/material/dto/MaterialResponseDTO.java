@@ -33,4 +33,5 @@ public class MaterialResponseDTO {
     private String fileType;
     private LocalDateTime uploadDate;
     private LocalDateTime createdAt;
+    private String status;
 }
@@ -0,0 +1,60 @@
+package com.cesarschool.portalcientifico.domain.material.recommendation;
+
+import com.cesarschool.portalcientifico.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Recomendações item-item pré-calculadas. O modelo é reconstruído periodicamente a partir de likes,
+ * avaliações e downloads e trocado atomicamente; as consultas só leem o modelo em memória.
+ * Interações posteriores à última reconstrução passam a contar na próxima.
+ */
+@Component
+@RequiredArgsConstructor
+public class MaterialRecommender {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialRecommender.class);
+
+    private final RecommendationRepository recommendationRepository;
+
+    private volatile RecommendationModel model = RecommendationModel.EMPTY;
+
+    @Value("${api.recommendations.neighbors:50}")
+    private int neighbors;
+
+    @Value("${api.recommendations.max-user-items:500}")
+    private int maxUserItems;
+
+    @Value("${api.recommendations.download-window:90d}")
+    private Duration downloadWindow;
+
+    @Value("${api.recommendations.area-boost:0.5}")
+    private float areaBoost;
+
+    @Scheduled(fixedDelayString = "${api.recommendations.rebuild-interval-ms:1800000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        RecommendationModel.Builder builder = new RecommendationModel.Builder();
+        recommendationRepository.forEachInteraction(LocalDateTime.now().minus(downloadWindow), builder::add);
+        RecommendationModel rebuilt = builder.build(neighbors, maxUserItems);
+        model = rebuilt;
+        log.info("Modelo de recomendações reconstruído: {} materiais, {} usuários em {} ms",
+                rebuilt.materialCount(), rebuilt.userCount(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * IDs de materiais recomendados ao usuário, do mais para o menos relevante. Vazio quando o usuário
+     * ainda não tem interações no modelo.
+     */
+    public List<Long> recommend(User user, int limit) {
+        return model.recommend(user.getId(), user.getPreferredAreas(), areaBoost, limit);
+    }
+}
@@ -0,0 +1,335 @@
+package com.cesarschool.portalcientifico.domain.material.recommendation;
+
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo imutável de similaridade item-item. Guarda, para cada material, os {@code N} vizinhos mais
+ * próximos pela similaridade de cosseno da coocorrência ponderada de interações, e para cada usuário
+ * os materiais com que interagiu. Tudo em arrays primitivos indexados por ids internos densos.
+ */
+final class RecommendationModel {
+
+    static final RecommendationModel EMPTY = new Builder().build(0, 0);
+
+    private final long[] materialIds;
+    private final Area[] areas;
+    private final int[][] neighbors;
+    private final float[][] similarities;
+    private final Map<String, int[]> userItems;
+    private final Map<String, float[]> userWeights;
+
+    private RecommendationModel(long[] materialIds, Area[] areas, int[][] neighbors, float[][] similarities,
+                                Map<String, int[]> userItems, Map<String, float[]> userWeights) {
+        this.materialIds = materialIds;
+        this.areas = areas;
+        this.neighbors = neighbors;
+        this.similarities = similarities;
+        this.userItems = userItems;
+        this.userWeights = userWeights;
+    }
+
+    int materialCount() {
+        return materialIds.length;
+    }
+
+    int userCount() {
+        return userItems.size();
+    }
+
+    /**
+     * Soma, para cada vizinho dos materiais do usuário, peso da interação × similaridade; materiais das
+     * áreas preferidas têm a pontuação multiplicada por {@code 1 + areaBoost}. Materiais com que o
+     * usuário já interagiu não são recomendados. As pontuações ficam num array denso indexado pelo id
+     * interno, e só os {@code limit} melhores candidatos são mantidos, num heap.
+     */
+    List<Long> recommend(String userId, Collection<Area> preferredAreas, float areaBoost, int limit) {
+        int[] items = userItems.get(userId);
+        if (items == null || limit <= 0) {
+            return List.of();
+        }
+        float[] weights = userWeights.get(userId);
+        EnumSet<Area> preferred = preferredAreas == null || preferredAreas.isEmpty()
+                ? EnumSet.noneOf(Area.class)
+                : EnumSet.copyOf(preferredAreas);
+
+        int reach = 0;
+        for (int item : items) {
+            reach += neighbors[item].length;
+        }
+        float[] accumulator = new float[materialIds.length];
+        int[] touched = new int[Math.min(reach, materialIds.length)];
+        int touchedCount = 0;
+        for (int k = 0; k < items.length; k++) {
+            int item = items[k];
+            int[] itemNeighbors = neighbors[item];
+            float[] itemSimilarities = similarities[item];
+            for (int n = 0; n < itemNeighbors.length; n++) {
+                int candidate = itemNeighbors[n];
+                if (Arrays.binarySearch(items, candidate) >= 0) {
+                    continue;
+                }
+                if (accumulator[candidate] == 0) {
+                    touched[touchedCount++] = candidate;
+                }
+                accumulator[candidate] += weights[k] * itemSimilarities[n];
+            }
+        }
+
+        int capacity = Math.min(limit, touchedCount);
+        int[] heapItems = new int[capacity];
+        float[] heapScores = new float[capacity];
+        int size = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int candidate = touched[t];
+            float score = accumulator[candidate];
+            if (preferred.contains(areas[candidate])) {
+                score *= 1 + areaBoost;
+            }
+            if (size < capacity) {
+                heapItems[size] = candidate;
+                heapScores[size] = score;
+                siftUp(heapItems, heapScores, size++);
+            } else if (ranksBefore(score, candidate, heapScores[0], heapItems[0])) {
+                heapItems[0] = candidate;
+                heapScores[0] = score;
+                siftDown(heapItems, heapScores, size);
+            }
+        }
+
+        Long[] ids = new Long[size];
+        while (size > 0) {
+            ids[size - 1] = materialIds[heapItems[0]];
+            size--;
+            heapItems[0] = heapItems[size];
+            heapScores[0] = heapScores[size];
+            siftDown(heapItems, heapScores, size);
+        }
+        return List.of(ids);
+    }
+
+    /**
+     * Heap de mínimo pelo critério de {@link #ranksBefore}: a raiz é o candidato que seria o último do
+     * ranking, o primeiro a sair quando aparece um melhor.
+     */
+    private static void siftUp(int[] items, float[] scores, int position) {
+        int item = items[position];
+        float score = scores[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksBefore(scores[parent], items[parent], score, item)) {
+                break;
+            }
+            items[position] = items[parent];
+            scores[position] = scores[parent];
+            position = parent;
+        }
+        items[position] = item;
+        scores[position] = score;
+    }
+
+    private static void siftDown(int[] items, float[] scores, int size) {
+        if (size == 0) {
+            return;
+        }
+        int item = items[0];
+        float score = scores[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(scores[child], items[child], scores[child + 1], items[child + 1])) {
+                child++;
+            }
+            if (!ranksBefore(score, item, scores[child], items[child])) {
+                break;
+            }
+            items[position] = items[child];
+            scores[position] = scores[child];
+            position = child;
+        }
+        items[position] = item;
+        scores[position] = score;
+    }
+
+    /**
+     * Insere {@code item} mantendo {@code items}/{@code scores} ordenados por pontuação decrescente
+     * (empate pelo id interno menor) e limitados a {@code capacity}; devolve o novo tamanho.
+     */
+    private static int offer(int[] items, float[] scores, int size, int capacity, int item, float score) {
+        if (size == capacity && !ranksBefore(score, item, scores[size - 1], items[size - 1])) {
+            return size;
+        }
+        int position = size == capacity ? size - 1 : size;
+        while (position > 0 && ranksBefore(score, item, scores[position - 1], items[position - 1])) {
+            items[position] = items[position - 1];
+            scores[position] = scores[position - 1];
+            position--;
+        }
+        items[position] = item;
+        scores[position] = score;
+        return size == capacity ? size : size + 1;
+    }
+
+    private static boolean ranksBefore(float score, int item, float otherScore, int otherItem) {
+        return score > otherScore || (score == otherScore && item < otherItem);
+    }
+
+    /**
+     * Acumula triplas (usuário, material, peso) em arrays primitivos e monta as matrizes esparsas
+     * usuário×material e material×usuário (CSR) para calcular a coocorrência.
+     */
+    static final class Builder {
+
+        private final Map<String, Integer> userIndex = new HashMap<>();
+        private final Map<Long, Integer> materialIndex = new HashMap<>();
+        private long[] materialIds = new long[64];
+        private Area[] areas = new Area[64];
+        private int[] rowUsers = new int[256];
+        private int[] rowItems = new int[256];
+        private float[] rowWeights = new float[256];
+        private int entries;
+
+        Builder add(String userId, long materialId, Area area, float weight) {
+            if (weight <= 0) {
+                return this;
+            }
+            int user = userIndex.computeIfAbsent(userId, id -> userIndex.size());
+            Integer item = materialIndex.get(materialId);
+            if (item == null) {
+                item = materialIndex.size();
+                materialIndex.put(materialId, item);
+                if (item == materialIds.length) {
+                    materialIds = Arrays.copyOf(materialIds, item * 2);
+                    areas = Arrays.copyOf(areas, item * 2);
+                }
+                materialIds[item] = materialId;
+                areas[item] = area;
+            }
+            if (entries == rowUsers.length) {
+                rowUsers = Arrays.copyOf(rowUsers, entries * 2);
+                rowItems = Arrays.copyOf(rowItems, entries * 2);
+                rowWeights = Arrays.copyOf(rowWeights, entries * 2);
+            }
+            rowUsers[entries] = user;
+            rowItems[entries] = item;
+            rowWeights[entries] = weight;
+            entries++;
+            return this;
+        }
+
+        /**
+         * Calcula os {@code neighborCount} vizinhos de cada material. Usuários com mais de
+         * {@code maxUserItems} interações não entram na coocorrência (o custo é quadrático no tamanho do
+         * perfil e perfis muito grandes dizem pouco sobre a semelhança entre dois materiais), mas
+         * continuam recebendo recomendações.
+         */
+        RecommendationModel build(int neighborCount, int maxUserItems) {
+            int users = userIndex.size();
+            int items = materialIndex.size();
+
+            int[] userPtr = new int[users + 1];
+            int[] itemPtr = new int[items + 1];
+            for (int e = 0; e < entries; e++) {
+                userPtr[rowUsers[e] + 1]++;
+                itemPtr[rowItems[e] + 1]++;
+            }
+            for (int u = 0; u < users; u++) {
+                userPtr[u + 1] += userPtr[u];
+            }
+            for (int i = 0; i < items; i++) {
+                itemPtr[i + 1] += itemPtr[i];
+            }
+
+            int[] userCols = new int[entries];
+            float[] userVals = new float[entries];
+            int[] itemCols = new int[entries];
+            float[] itemVals = new float[entries];
+            int[] userFill = Arrays.copyOf(userPtr, users);
+            int[] itemFill = Arrays.copyOf(itemPtr, items);
+            for (int e = 0; e < entries; e++) {
+                int u = rowUsers[e];
+                int i = rowItems[e];
+                userCols[userFill[u]] = i;
+                userVals[userFill[u]++] = rowWeights[e];
+                itemCols[itemFill[i]] = u;
+                itemVals[itemFill[i]++] = rowWeights[e];
+            }
+
+            float[] norms = new float[items];
+            for (int i = 0; i < items; i++) {
+                double sum = 0;
+                for (int p = itemPtr[i]; p < itemPtr[i + 1]; p++) {
+                    sum += (double) itemVals[p] * itemVals[p];
+                }
+                norms[i] = (float) Math.sqrt(sum);
+            }
+
+            int[][] neighbors = new int[items][];
+            float[][] similarities = new float[items][];
+            float[] accumulator = new float[items];
+            int[] touched = new int[items];
+            int[] topItems = new int[neighborCount];
+            float[] topScores = new float[neighborCount];
+            for (int i = 0; i < items; i++) {
+                int touchedCount = 0;
+                for (int p = itemPtr[i]; p < itemPtr[i + 1]; p++) {
+                    int u = itemCols[p];
+                    if (userPtr[u + 1] - userPtr[u] > maxUserItems) {
+                        continue;
+                    }
+                    for (int q = userPtr[u]; q < userPtr[u + 1]; q++) {
+                        int j = userCols[q];
+                        if (j == i) {
+                            continue;
+                        }
+                        if (accumulator[j] == 0) {
+                            touched[touchedCount++] = j;
+                        }
+                        accumulator[j] += itemVals[p] * userVals[q];
+                    }
+                }
+                int size = 0;
+                for (int t = 0; t < touchedCount; t++) {
+                    int j = touched[t];
+                    size = offer(topItems, topScores, size, neighborCount, j, accumulator[j] / (norms[i] * norms[j]));
+                    accumulator[j] = 0;
+                }
+                neighbors[i] = Arrays.copyOf(topItems, size);
+                similarities[i] = Arrays.copyOf(topScores, size);
+            }
+
+            Map<String, int[]> userItems = HashMap.newHashMap(users);
+            Map<String, float[]> userWeights = HashMap.newHashMap(users);
+            for (Map.Entry<String, Integer> entry : userIndex.entrySet()) {
+                int u = entry.getValue();
+                int from = userPtr[u];
+                int to = userPtr[u + 1];
+                Integer[] order = new Integer[to - from];
+                for (int k = 0; k < order.length; k++) {
+                    order[k] = from + k;
+                }
+                Arrays.sort(order, (a, b) -> Integer.compare(userCols[a], userCols[b]));
+                int[] sortedItems = new int[order.length];
+                float[] sortedWeights = new float[order.length];
+                for (int k = 0; k < order.length; k++) {
+                    sortedItems[k] = userCols[order[k]];
+                    sortedWeights[k] = userVals[order[k]];
+                }
+                userItems.put(entry.getKey(), sortedItems);
+                userWeights.put(entry.getKey(), sortedWeights);
+            }
+
+            return new RecommendationModel(Arrays.copyOf(materialIds, items), Arrays.copyOf(areas, items),
+                    neighbors, similarities, userItems, userWeights);
+        }
+    }
+}
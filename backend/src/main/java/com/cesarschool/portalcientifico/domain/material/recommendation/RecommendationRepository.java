@@ -0,0 +1,61 @@
+package com.cesarschool.portalcientifico.domain.material.recommendation;
+
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Lê as interações usuário-material usadas pelo {@link MaterialRecommender}, linha a linha e sem
+ * materializar entidades. Likes e avaliações de 4 ou 5 estrelas pesam 1; avaliações de 3 estrelas e
+ * downloads recentes pesam 0,5. Avaliações menores não contam como interesse.
+ * <p>
+ * O driver do Postgres só usa cursor com {@code fetchSize} definido e fora do autocommit; sem isso ele
+ * carregaria o resultado inteiro em memória antes da primeira linha.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecommendationRepository {
+
+    private static final String INTERACTIONS = """
+            SELECT i.user_id, i.material_id, m.area, max(i.weight) AS weight
+            FROM (
+                SELECT user_id, target_id AS material_id, 1.0 AS weight FROM likes WHERE target_type = 'MATERIAL'
+                UNION ALL
+                SELECT user_id, material_id, CASE WHEN value >= 4 THEN 1.0 ELSE 0.5 END FROM rating WHERE value >= 3
+                UNION ALL
+                SELECT user_id, material_id, 0.5 FROM material_downloads WHERE downloaded_at >= ?
+            ) i
+            JOIN materials m ON m.id = i.material_id AND m.status = 'READY'
+            GROUP BY i.user_id, i.material_id, m.area
+            """;
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public void forEachInteraction(LocalDateTime downloadsSince, InteractionHandler handler) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INTERACTIONS);
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setTimestamp(1, Timestamp.valueOf(downloadsSince));
+                    return statement;
+                },
+                rs -> {
+                    handler.accept(rs.getString("user_id"), rs.getLong("material_id"),
+                            Area.valueOf(rs.getString("area")), rs.getFloat("weight"));
+                });
+    }
+
+    @FunctionalInterface
+    public interface InteractionHandler {
+        void accept(String userId, long materialId, Area area, float weight);
+    }
+}
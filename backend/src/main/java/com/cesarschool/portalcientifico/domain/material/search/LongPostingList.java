@@ -0,0 +1,67 @@
+package com.cesarschool.portalcientifico.domain.material.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de postagens ordenada de IDs de materiais, armazenada em um {@code long[]} sem boxing.
+ * IDs novos costumam ser maiores que os existentes, então a inserção no fim é o caminho rápido.
+ */
+final class LongPostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    boolean add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copia as postagens para {@code target} a partir de {@code offset}, devolvendo o novo fim.
+     */
+    int copyInto(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+        return offset + size;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.cesarschool.portalcientifico.domain.material.search;
+
+import com.cesarschool.portalcientifico.domain.material.Material;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre título, palavras-chave e descrição dos materiais.
+ * <p>
+ * Cada campo mantém um dicionário ordenado de termos apontando para listas de IDs
+ * ({@link LongPostingList}); o dicionário ordenado permite expandir o último termo da consulta
+ * como prefixo, o que atende a busca enquanto o usuário digita. Os filtros de tipo e área
+ * usam {@link BitSet}s indexados pelo ID do material.
+ * <p>
+ * Enquanto não estiver pronto (ver {@link #markReady()}), as buscas devem ser feitas no banco.
+ */
+@Component
+public class MaterialSearchIndex {
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int SCORE_SHIFT = 40;
+    private static final long MAX_INDEXABLE_ID = (1L << SCORE_SHIFT) - 1;
+
+    private enum Field {
+        TITLE(3), KEYWORDS(2), DESCRIPTION(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Field, TreeMap<String, LongPostingList>> postings = new EnumMap<>(Field.class);
+    private final Map<String, String> surfaceForms = new HashMap<>();
+    private final Map<Long, String[][]> documentTerms = new HashMap<>();
+    private final BitSet[] byType = new BitSet[TypeMaterial.values().length];
+    private final BitSet[] byArea = new BitSet[Area.values().length];
+    private volatile boolean ready;
+
+    public MaterialSearchIndex() {
+        for (Field field : Field.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+        Arrays.setAll(byType, i -> new BitSet());
+        Arrays.setAll(byArea, i -> new BitSet());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa o material, substituindo a versão anterior caso ele já esteja no índice.
+     */
+    public void index(Material material) {
+        long id = material.getId();
+        if (id > MAX_INDEXABLE_ID || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID de material fora do intervalo indexável: " + id);
+        }
+
+        String keywords = material.getKeywords() == null ? "" : String.join(" ", material.getKeywords());
+        List<List<MaterialTokenizer.Token>> tokensByField = List.of(
+                MaterialTokenizer.tokenize(material.getTitle()),
+                MaterialTokenizer.tokenize(keywords),
+                MaterialTokenizer.tokenize(material.getDescription()));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+
+            Field[] fields = Field.values();
+            String[][] terms = new String[fields.length][];
+            for (Field field : fields) {
+                List<MaterialTokenizer.Token> tokens = tokensByField.get(field.ordinal());
+                terms[field.ordinal()] = tokens.stream().map(MaterialTokenizer.Token::term).distinct().toArray(String[]::new);
+                for (MaterialTokenizer.Token token : tokens) {
+                    postings.get(field).computeIfAbsent(token.term(), t -> new LongPostingList()).add(id);
+                    surfaceForms.putIfAbsent(token.term(), token.text());
+                }
+            }
+            documentTerms.put(id, terms);
+            byType[material.getType().ordinal()].set((int) id);
+            byArea[material.getArea().ordinal()].set((int) id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long materialId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(materialId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os materiais que contêm todos os termos da consulta, tratando o último como prefixo.
+     *
+     * @return IDs ordenados por relevância (título &gt; palavras-chave &gt; descrição) e, em caso de
+     * empate, do mais recente para o mais antigo
+     */
+    public long[] search(String query, List<TypeMaterial> types, List<Area> areas) {
+        List<String> terms = MaterialTokenizer.terms(query);
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TermMatch> matches = new ArrayList<>(terms.size());
+            long[] candidates = null;
+            for (int i = 0; i < terms.size(); i++) {
+                TermMatch match = match(terms.get(i), i == terms.size() - 1);
+                long[] matching = match.union();
+                candidates = candidates == null ? matching : intersect(candidates, matching);
+                if (candidates.length == 0) {
+                    return candidates;
+                }
+                matches.add(match);
+            }
+
+            BitSet allowed = allowed(types, areas);
+            long[] ranked = new long[candidates.length];
+            int count = 0;
+            for (long id : candidates) {
+                if (allowed != null && !allowed.get((int) id)) {
+                    continue;
+                }
+                long score = 0;
+                for (TermMatch match : matches) {
+                    score += match.score(id);
+                }
+                ranked[count++] = (score << SCORE_SHIFT) | id;
+            }
+
+            Arrays.sort(ranked, 0, count);
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = ranked[count - 1 - i] & MAX_INDEXABLE_ID;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sugere termos que começam com {@code prefix}, dos mais frequentes para os menos frequentes.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String folded = MaterialTokenizer.fold(prefix == null ? "" : prefix.trim());
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (Field field : Field.values()) {
+                prefixRange(postings.get(field), folded).forEach((term, list) -> frequencies.merge(term, list.size(), Integer::sum));
+            }
+            return frequencies.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> surfaceForms.getOrDefault(entry.getKey(), entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(long id) {
+        String[][] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            TreeMap<String, LongPostingList> dictionary = postings.get(field);
+            for (String term : terms[field.ordinal()]) {
+                LongPostingList list = dictionary.get(term);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    dictionary.remove(term);
+                    if (postings.values().stream().noneMatch(d -> d.containsKey(term))) {
+                        surfaceForms.remove(term);
+                    }
+                }
+            }
+        }
+        for (BitSet bits : byType) {
+            bits.clear((int) id);
+        }
+        for (BitSet bits : byArea) {
+            bits.clear((int) id);
+        }
+    }
+
+    private TermMatch match(String term, boolean prefix) {
+        Map<Field, List<LongPostingList>> lists = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            TreeMap<String, LongPostingList> dictionary = postings.get(field);
+            List<LongPostingList> fieldLists = new ArrayList<>();
+            if (prefix) {
+                prefixRange(dictionary, term).values().stream()
+                        .sorted(Comparator.comparingInt(LongPostingList::size).reversed())
+                        .limit(MAX_PREFIX_EXPANSIONS)
+                        .forEach(fieldLists::add);
+            } else {
+                LongPostingList list = dictionary.get(term);
+                if (list != null) {
+                    fieldLists.add(list);
+                }
+            }
+            lists.put(field, fieldLists);
+        }
+        return new TermMatch(lists);
+    }
+
+    private BitSet allowed(List<TypeMaterial> types, List<Area> areas) {
+        BitSet allowed = null;
+        if (types != null && !types.isEmpty()) {
+            allowed = new BitSet();
+            for (TypeMaterial type : types) {
+                allowed.or(byType[type.ordinal()]);
+            }
+        }
+        if (areas != null && !areas.isEmpty()) {
+            BitSet areaBits = new BitSet();
+            for (Area area : areas) {
+                areaBits.or(byArea[area.ordinal()]);
+            }
+            if (allowed == null) {
+                allowed = areaBits;
+            } else {
+                allowed.and(areaBits);
+            }
+        }
+        return allowed;
+    }
+
+    private static NavigableMap<String, LongPostingList> prefixRange(TreeMap<String, LongPostingList> dictionary, String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Listas de postagens que casam com um termo da consulta, agrupadas por campo.
+     */
+    private record TermMatch(Map<Field, List<LongPostingList>> lists) {
+
+        long[] union() {
+            int total = lists.values().stream().flatMap(List::stream).mapToInt(LongPostingList::size).sum();
+            long[] ids = new long[total];
+            int end = 0;
+            for (List<LongPostingList> fieldLists : lists.values()) {
+                for (LongPostingList list : fieldLists) {
+                    end = list.copyInto(ids, end);
+                }
+            }
+            Arrays.sort(ids);
+            int unique = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(ids, unique);
+        }
+
+        int score(long id) {
+            int score = 0;
+            for (Map.Entry<Field, List<LongPostingList>> entry : lists.entrySet()) {
+                for (LongPostingList list : entry.getValue()) {
+                    if (list.contains(id)) {
+                        score += entry.getKey().weight;
+                        break;
+                    }
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cesarschool.portalcientifico.domain.material.search;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Popula o {@link MaterialSearchIndex} a partir do banco, em lotes, quando a aplicação sobe.
+ */
+@Component
+@RequiredArgsConstructor
+public class MaterialSearchIndexLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MaterialRepository materialRepository;
+    private final MaterialSearchIndex searchIndex;
+
+    @Value("${api.search.in-memory.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = materialRepository.findIdsAfter(lastId, Limit.of(BATCH_SIZE));
+            if (!ids.isEmpty()) {
+                materialRepository.findAllWithKeywordsByIdIn(ids).forEach(searchIndex::index);
+                lastId = ids.getLast();
+            }
+        } while (ids.size() == BATCH_SIZE);
+        searchIndex.markReady();
+    }
+}
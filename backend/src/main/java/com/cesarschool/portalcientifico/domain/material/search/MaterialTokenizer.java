@@ -0,0 +1,61 @@
+package com.cesarschool.portalcientifico.domain.material.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenização para conteúdo em português: separa palavras, remove stopwords e normaliza
+ * os termos para minúsculas sem acentos, de modo que "Computação" e "computacao" coincidam.
+ */
+final class MaterialTokenizer {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Locale PT_BR = Locale.forLanguageTag("pt-BR");
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "entre",
+            "era", "essa", "esse", "esta", "este", "eu", "foi", "ha", "isso", "isto", "ja", "mais", "mas",
+            "me", "mesmo", "na", "nas", "nao", "no", "nos", "num", "numa", "o", "os", "ou", "para", "pela",
+            "pelas", "pelo", "pelos", "por", "qual", "quando", "que", "se", "sem", "ser", "seu", "seus",
+            "so", "sua", "suas", "tambem", "te", "tem", "um", "uma", "umas", "uns"
+    );
+
+    private MaterialTokenizer() {
+    }
+
+    /**
+     * @param term termo normalizado usado no índice
+     * @param text palavra original em minúsculas, usada nas sugestões de autocompletar
+     */
+    record Token(String term, String text) {
+    }
+
+    static List<Token> tokenize(String value) {
+        List<Token> tokens = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return tokens;
+        }
+        for (String word : WORD_SEPARATOR.split(value.toLowerCase(PT_BR))) {
+            String term = fold(word);
+            if (term.length() >= MIN_TERM_LENGTH && !STOPWORDS.contains(term)) {
+                tokens.add(new Token(term, word));
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> terms(String value) {
+        return tokenize(value).stream().map(Token::term).toList();
+    }
+
+    static String fold(String word) {
+        String decomposed = Normalizer.normalize(word.toLowerCase(PT_BR), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+}
@@ -0,0 +1,127 @@
+package com.cesarschool.portalcientifico.domain.material.timeline;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import com.cesarschool.portalcientifico.domain.user.follow.FollowGraph;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Timelines de "quem eu sigo". Cada material publicado é empurrado para o {@link Timeline} de cada
+ * seguidor (fan-out na escrita), exceto quando o autor tem mais de {@code fan-out-threshold}
+ * seguidores: esses autores são consultados no banco no momento da leitura (fan-out na leitura).
+ * <p>
+ * Os timelines ficam em um cache limitado. Um timeline ausente é reconstruído do banco na primeira
+ * leitura, e o fan-out ignora seguidores sem timeline carregado, que receberão o material nessa
+ * reconstrução.
+ */
+@Component
+public class FollowingTimelines {
+
+    private final MaterialRepository materialRepository;
+    private final FollowGraph followGraph;
+    private final int capacity;
+    private final int fanOutThreshold;
+    private final Cache<String, Timeline> timelines;
+
+    public FollowingTimelines(MaterialRepository materialRepository,
+                              FollowGraph followGraph,
+                              MeterRegistry meterRegistry,
+                              @Value("${api.timeline.capacity:500}") int capacity,
+                              @Value("${api.timeline.fan-out-threshold:1000}") int fanOutThreshold,
+                              @Value("${api.timeline.max-timelines:100000}") long maxTimelines) {
+        this.materialRepository = materialRepository;
+        this.followGraph = followGraph;
+        this.capacity = capacity;
+        this.fanOutThreshold = fanOutThreshold;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxTimelines)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "materials.following-timelines");
+    }
+
+    /**
+     * Distribui um material que acabou de ficar disponível para os seguidores do autor.
+     */
+    public void publish(Long materialId, String authorId) {
+        if (followGraph.followerCount(authorId) > fanOutThreshold) {
+            return;
+        }
+        for (String follower : followGraph.followers(authorId, 0, Integer.MAX_VALUE)) {
+            timelines.asMap().computeIfPresent(follower, (id, timeline) -> {
+                timeline.push(materialId);
+                return timeline;
+            });
+        }
+    }
+
+    /**
+     * Retira um material excluído dos timelines carregados dos seguidores do autor. Autores acima do
+     * limite de fan-out são lidos do banco e não precisam de ajuste.
+     */
+    public void remove(Long materialId, String authorId) {
+        if (followGraph.followerCount(authorId) > fanOutThreshold) {
+            return;
+        }
+        for (String follower : followGraph.followers(authorId, 0, Integer.MAX_VALUE)) {
+            timelines.asMap().computeIfPresent(follower, (id, timeline) -> {
+                timeline.remove(materialId);
+                return timeline;
+            });
+        }
+    }
+
+    /**
+     * Descarta o timeline do usuário, por exemplo quando ele passa a seguir ou deixa de seguir alguém.
+     */
+    public void invalidate(String userId) {
+        timelines.invalidate(userId);
+    }
+
+    /**
+     * Até {@code limit} IDs de materiais dos autores seguidos, menores que {@code before}, do mais
+     * novo para o mais antigo.
+     */
+    public List<Long> idsBefore(String userId, long before, int limit) {
+        List<String> followed = followGraph.following(userId, 0, Integer.MAX_VALUE);
+        if (followed.isEmpty()) {
+            return List.of();
+        }
+        List<String> pushed = new ArrayList<>();
+        List<String> pulled = new ArrayList<>();
+        for (String author : followed) {
+            (followGraph.followerCount(author) > fanOutThreshold ? pulled : pushed).add(author);
+        }
+
+        TreeSet<Long> candidates = new TreeSet<>(Comparator.reverseOrder());
+        if (!pushed.isEmpty()) {
+            Timeline timeline = timelines.get(userId, id -> hydrate(pushed));
+            for (long id : timeline.before(before, limit)) {
+                candidates.add(id);
+            }
+            if (candidates.size() < limit && timeline.isTruncated()) {
+                long olderThan = Math.min(before, timeline.oldest());
+                candidates.addAll(materialRepository.findIdsByUserIdInBefore(pushed, olderThan, Limit.of(limit - candidates.size())));
+            }
+        }
+        if (!pulled.isEmpty()) {
+            candidates.addAll(materialRepository.findIdsByUserIdInBefore(pulled, before, Limit.of(limit)));
+        }
+        return candidates.stream().limit(limit).toList();
+    }
+
+    private Timeline hydrate(List<String> authors) {
+        List<Long> ids = materialRepository.findIdsByUserIdInBefore(authors, Long.MAX_VALUE, Limit.of(capacity));
+        return Timeline.of(capacity, ids, ids.size() == capacity);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cesarschool.portalcientifico.domain.material.timeline;
+
+import java.util.Arrays;
+
+/**
+ * Buffer circular de IDs de materiais com capacidade fixa. Ao encher, a entrada mais antiga é
+ * sobrescrita e o timeline passa a ser {@linkplain #isTruncated() truncado}.
+ */
+class Timeline {
+
+    private final long[] ids;
+    private int head;
+    private int size;
+    private boolean truncated;
+
+    Timeline(int capacity) {
+        this.ids = new long[capacity];
+    }
+
+    static Timeline of(int capacity, Iterable<Long> newestFirst, boolean truncated) {
+        Timeline timeline = new Timeline(capacity);
+        newestFirst.forEach(timeline::append);
+        timeline.truncated = truncated;
+        return timeline;
+    }
+
+    synchronized void push(long id) {
+        if (contains(id)) {
+            return;
+        }
+        head = (head + ids.length - 1) % ids.length;
+        ids[head] = id;
+        if (size < ids.length) {
+            size++;
+        } else {
+            truncated = true;
+        }
+    }
+
+    /**
+     * Retira o ID, aproximando as entradas mais antigas para manter a ordem do buffer.
+     */
+    synchronized void remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[(head + i) % ids.length] == id) {
+                for (int j = i; j < size - 1; j++) {
+                    ids[(head + j) % ids.length] = ids[(head + j + 1) % ids.length];
+                }
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Até {@code limit} IDs menores que {@code before}, do mais novo para o mais antigo.
+     */
+    synchronized long[] before(long before, int limit) {
+        long[] result = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long id = ids[(head + i) % ids.length];
+            if (id < before) {
+                result[count++] = id;
+            }
+        }
+        Arrays.sort(result, 0, count);
+        int length = Math.min(count, limit);
+        long[] newestFirst = new long[length];
+        for (int i = 0; i < length; i++) {
+            newestFirst[i] = result[count - 1 - i];
+        }
+        return newestFirst;
+    }
+
+    synchronized long oldest() {
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            oldest = Math.min(oldest, ids[(head + i) % ids.length]);
+        }
+        return oldest;
+    }
+
+    synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    private void append(long id) {
+        if (size < ids.length && !contains(id)) {
+            ids[(head + size) % ids.length] = id;
+            size++;
+        }
+    }
+
+    private boolean contains(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[(head + i) % ids.length] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cesarschool.portalcientifico.domain.material.trending;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Recalcula periodicamente o {@code hot_score} dos materiais, lido pelas listagens de materiais em alta.
+ */
+@Component
+@RequiredArgsConstructor
+public class MaterialHotScorer {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialHotScorer.class);
+
+    private final MaterialRepository materialRepository;
+
+    @Value("${api.trending.hot-score.window:7d}")
+    private Duration window;
+
+    @Value("${api.trending.hot-score.decay:12h}")
+    private Duration decay;
+
+    @Scheduled(fixedDelayString = "${api.trending.hot-score.interval-ms:300000}")
+    public void refresh() {
+        int updated = materialRepository.refreshHotScores(LocalDateTime.now().minus(window), decay.toSeconds());
+        log.debug("{} pontuações de materiais em alta atualizadas", updated);
+    }
+}
@@ -0,0 +1,6 @@
+package com.cesarschool.portalcientifico.domain.material.trending;
+
+import java.time.LocalDateTime;
+
+public record MaterialKeyword(Long materialId, String keyword, LocalDateTime createdAt) {
+}
@@ -0,0 +1,169 @@
+package com.cesarschool.portalcientifico.domain.material.trending;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Palavras-chave em alta, mantidas em memória com o algoritmo Space-Saving: no máximo
+ * {@code capacity} contadores, e uma palavra nova, com a estrutura cheia, herda o contador de menor
+ * peso. Cada evento pesa {@code peso * 2^(idade / meia-vida)} em relação a um instante de referência
+ * (decaimento progressivo), então eventos antigos perdem importância sem que seja preciso revisitar
+ * os contadores. Quando os pesos crescem demais, todos são reescalados para um novo instante.
+ * <p>
+ * Uploads e exclusões são registrados pelo fluxo de materiais; visualizações e downloads chegam em
+ * lote pelos contadores de {@code counter}, e só nesse caso as palavras-chave são lidas do banco.
+ */
+@Component
+public class TrendingTopics {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingTopics.class);
+    private static final double MAX_EXPONENT = 32;
+
+    private final MaterialRepository materialRepository;
+    private final int capacity;
+    private final double decayPerMilli;
+    private final double uploadWeight;
+    private final double viewWeight;
+    private final double downloadWeight;
+    private final LongSupplier clock;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private long landmark;
+
+    @Autowired
+    public TrendingTopics(MaterialRepository materialRepository,
+                          @Value("${api.trending.capacity:200}") int capacity,
+                          @Value("${api.trending.half-life:6h}") Duration halfLife,
+                          @Value("${api.trending.upload-weight:5}") double uploadWeight,
+                          @Value("${api.trending.view-weight:1}") double viewWeight,
+                          @Value("${api.trending.download-weight:3}") double downloadWeight) {
+        this(materialRepository, capacity, halfLife, uploadWeight, viewWeight, downloadWeight, System::currentTimeMillis);
+    }
+
+    TrendingTopics(MaterialRepository materialRepository, int capacity, Duration halfLife,
+                   double uploadWeight, double viewWeight, double downloadWeight, LongSupplier clock) {
+        this.materialRepository = materialRepository;
+        this.capacity = capacity;
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.uploadWeight = uploadWeight;
+        this.viewWeight = viewWeight;
+        this.downloadWeight = downloadWeight;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    public void recordUpload(Collection<String> keywords) {
+        long now = clock.getAsLong();
+        keywords.forEach(keyword -> add(keyword, uploadWeight, now));
+    }
+
+    /**
+     * Retira o peso de upload das palavras-chave de um material excluído que ainda são monitoradas.
+     * O peso é retirado na data de criação do material, a mesma escala em que foi somado, e não no
+     * instante atual, que valeria {@code 2^(idade / meia-vida)} vezes mais.
+     */
+    public void recordDelete(Collection<String> keywords, LocalDateTime createdAt) {
+        long timestamp = createdAt == null ? clock.getAsLong() : toEpochMilli(createdAt);
+        keywords.forEach(keyword -> add(keyword, -uploadWeight, timestamp));
+    }
+
+    public void recordViews(Map<Long, Long> deltas) {
+        recordActivity(deltas, viewWeight);
+    }
+
+    public void recordDownloads(Map<Long, Long> deltas) {
+        recordActivity(deltas, downloadWeight);
+    }
+
+    /**
+     * Registra uploads antigos com o peso correspondente à data de criação de cada material.
+     */
+    public void seed(Collection<MaterialKeyword> keywords) {
+        for (MaterialKeyword keyword : keywords) {
+            add(keyword.keyword(), uploadWeight, toEpochMilli(keyword.createdAt()));
+        }
+    }
+
+    public synchronized List<String> top(int limit) {
+        return counters.entrySet().stream()
+                .filter(entry -> entry.getValue().score > 0)
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Counter> entry) -> entry.getValue().score).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .map(entry -> entry.getValue().keyword)
+                .toList();
+    }
+
+    private void recordActivity(Map<Long, Long> deltas, double weight) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            for (MaterialKeyword keyword : materialRepository.findKeywordsByIdIn(deltas.keySet())) {
+                add(keyword.keyword(), weight * deltas.get(keyword.materialId()), now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar os tópicos em alta com {} materiais", deltas.size(), e);
+        }
+    }
+
+    synchronized void add(String keyword, double weight, long timestamp) {
+        if (keyword == null || keyword.isBlank()) {
+            return;
+        }
+        rescaleIfNeeded(timestamp);
+        String key = keyword.trim().toLowerCase(Locale.ROOT);
+        double decayed = weight * Math.exp(decayPerMilli * (timestamp - landmark));
+
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.score = Math.max(0, counter.score + decayed);
+            return;
+        }
+        if (decayed <= 0) {
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(keyword.trim(), decayed));
+            return;
+        }
+        Map.Entry<String, Counter> min = Collections.min(counters.entrySet(),
+                Comparator.comparingDouble(entry -> entry.getValue().score));
+        counters.remove(min.getKey());
+        counters.put(key, new Counter(keyword.trim(), min.getValue().score + decayed));
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void rescaleIfNeeded(long timestamp) {
+        double exponent = decayPerMilli * (timestamp - landmark);
+        if (exponent < MAX_EXPONENT) {
+            return;
+        }
+        double factor = Math.exp(-exponent);
+        counters.values().forEach(counter -> counter.score *= factor);
+        landmark = timestamp;
+    }
+
+    private static final class Counter {
+        private final String keyword;
+        private double score;
+
+        private Counter(String keyword, double score) {
+            this.keyword = keyword;
+            this.score = score;
+        }
+    }
+}
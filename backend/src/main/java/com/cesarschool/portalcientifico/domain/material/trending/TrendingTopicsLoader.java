@@ -0,0 +1,30 @@
+package com.cesarschool.portalcientifico.domain.material.trending;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Popula o {@link TrendingTopics} com os uploads recentes quando a aplicação sobe.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendingTopicsLoader {
+
+    private final MaterialRepository materialRepository;
+    private final TrendingTopics trendingTopics;
+
+    @Value("${api.trending.seed-window:7d}")
+    private Duration seedWindow;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        trendingTopics.seed(materialRepository.findKeywordsCreatedAfter(LocalDateTime.now().minus(seedWindow)));
+    }
+}
@@ -0,0 +1,225 @@
+package com.cesarschool.portalcientifico.domain.material.upload;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import com.cesarschool.portalcientifico.domain.material.MaterialStatus;
+import com.cesarschool.portalcientifico.domain.material.search.MaterialSearchIndex;
+import com.cesarschool.portalcientifico.domain.material.timeline.FollowingTimelines;
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import com.cesarschool.portalcientifico.domain.s3.S3Service;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Envia ao S3, fora de qualquer transação, os arquivos de materiais já gravados como {@code PENDING}.
+ * O arquivo fica em disco ({@code <id>.upload} no diretório de staging) até o envio terminar, o que
+ * permite retomar envios interrompidos por uma reinicialização. Ao final o material passa a
+ * {@code READY}, é indexado e distribuído aos timelines dos seguidores do autor, ou passa a
+ * {@code FAILED} depois de esgotadas as tentativas.
+ */
+@Component
+public class MaterialUploadPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialUploadPipeline.class);
+    private static final String STAGED_SUFFIX = ".upload";
+    private static final String INCOMING_PREFIX = "incoming-";
+
+    private final MaterialRepository materialRepository;
+    private final S3Service s3Service;
+    private final MaterialSearchIndex searchIndex;
+    private final FollowingTimelines followingTimelines;
+    private final TrendingTopics trendingTopics;
+    private final Path stagingDir;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration staleAfter;
+    private final Semaphore transfers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public MaterialUploadPipeline(MaterialRepository materialRepository,
+                                  S3Service s3Service,
+                                  MaterialSearchIndex searchIndex,
+                                  FollowingTimelines followingTimelines,
+                                  TrendingTopics trendingTopics,
+                                  @Value("${api.upload.staging-dir:${java.io.tmpdir}/portal-cientifico-uploads}") Path stagingDir,
+                                  @Value("${api.upload.max-concurrent-transfers:4}") int maxConcurrentTransfers,
+                                  @Value("${api.upload.max-attempts:3}") int maxAttempts,
+                                  @Value("${api.upload.retry-backoff:1s}") Duration retryBackoff,
+                                  @Value("${api.upload.stale-after:30m}") Duration staleAfter) throws IOException {
+        this.materialRepository = materialRepository;
+        this.s3Service = s3Service;
+        this.searchIndex = searchIndex;
+        this.followingTimelines = followingTimelines;
+        this.trendingTopics = trendingTopics;
+        this.stagingDir = Files.createDirectories(stagingDir);
+        this.transfers = new Semaphore(maxConcurrentTransfers);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Grava o arquivo recebido no diretório de staging, antes de o material existir no banco.
+     */
+    public Path stage(MultipartFile file) throws IOException {
+        Path staged = Files.createTempFile(stagingDir, INCOMING_PREFIX, ".tmp");
+        try {
+            file.transferTo(staged);
+            return staged;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+    }
+
+    public void discard(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo {}", staged, e);
+        }
+    }
+
+    /**
+     * Associa o arquivo em staging ao material já persistido e agenda o envio ao S3.
+     */
+    public void submit(Long materialId, String fileName, Path staged) throws IOException {
+        Path target = stagedPath(materialId);
+        Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+        schedule(materialId, fileName, target);
+    }
+
+    boolean isInFlight(Long materialId) {
+        return inFlight.contains(materialId);
+    }
+
+    private void schedule(Long materialId, String fileName, Path staged) {
+        if (inFlight.add(materialId)) {
+            executor.execute(() -> transfer(materialId, fileName, staged));
+        }
+    }
+
+    private void transfer(Long materialId, String fileName, Path staged) {
+        try {
+            transfers.acquire();
+            try {
+                finish(materialId, uploadWithRetry(fileName, staged));
+            } finally {
+                transfers.release();
+            }
+            discard(staged);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.remove(materialId);
+        }
+    }
+
+    private boolean uploadWithRetry(String fileName, Path staged) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                s3Service.uploadFile(staged, fileName);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Falha no envio de {} ao S3 (tentativa {} de {})", fileName, attempt, maxAttempts, e);
+                if (attempt < maxAttempts) {
+                    Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)));
+                }
+            }
+        }
+        return false;
+    }
+
+    private void finish(Long materialId, boolean uploaded) {
+        MaterialStatus status = uploaded ? MaterialStatus.READY : MaterialStatus.FAILED;
+        if (materialRepository.updateStatus(materialId, status) > 0 && uploaded) {
+            materialRepository.findAllWithKeywordsByIdIn(List.of(materialId)).forEach(material -> {
+                searchIndex.index(material);
+                followingTimelines.publish(material.getId(), material.getUser().getId());
+                trendingTopics.recordUpload(material.getKeywords());
+            });
+        }
+    }
+
+    /**
+     * Retoma envios de materiais que ficaram {@code PENDING} sem transferência em andamento (por
+     * exemplo, após uma reinicialização), marca como {@code FAILED} os que perderam o arquivo e
+     * remove arquivos de staging que não pertencem a nenhum envio ativo.
+     */
+    @Scheduled(fixedDelayString = "${api.upload.cleanup-interval-ms:600000}")
+    public void cleanupOrphans() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        for (Long materialId : materialRepository.findIdsByStatusAndCreatedAtBefore(MaterialStatus.PENDING, cutoff)) {
+            if (inFlight.contains(materialId)) {
+                continue;
+            }
+            Path staged = stagedPath(materialId);
+            if (Files.exists(staged)) {
+                materialRepository.findById(materialId)
+                        .ifPresent(material -> schedule(materialId, material.getFileName(), staged));
+            } else {
+                log.warn("Material {} sem arquivo em staging; marcando como {}", materialId, MaterialStatus.FAILED);
+                materialRepository.updateStatus(materialId, MaterialStatus.FAILED);
+            }
+        }
+        deleteStaleFiles(Instant.now().minus(staleAfter));
+    }
+
+    private void deleteStaleFiles(Instant cutoff) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingDir)) {
+            for (Path file : files) {
+                Long materialId = materialIdOf(file);
+                if (materialId != null && inFlight.contains(materialId)) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    discard(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path stagedPath(Long materialId) {
+        return stagingDir.resolve(materialId + STAGED_SUFFIX);
+    }
+
+    private static Long materialIdOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(STAGED_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(name.substring(0, name.length() - STAGED_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cesarschool.portalcientifico.domain.rate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Agregado das avaliações de um material: soma, quantidade e histograma de estrelas. É atualizado
+ * por incrementos atômicos em {@link MaterialRatingStatsRepository#applyDelta}, e a média exibida
+ * em {@code materials.average_rating} é derivada destes valores.
+ */
+@Entity
+@Table(name = "material_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterialRatingStats {
+    @Id
+    @Column(name = "material_id")
+    private Long materialId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "star_1", nullable = false)
+    private long star1;
+
+    @Column(name = "star_2", nullable = false)
+    private long star2;
+
+    @Column(name = "star_3", nullable = false)
+    private long star3;
+
+    @Column(name = "star_4", nullable = false)
+    private long star4;
+
+    @Column(name = "star_5", nullable = false)
+    private long star5;
+
+    public double getAverage() {
+        return ratingCount == 0 ? 0 : (double) ratingSum / ratingCount;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cesarschool.portalcientifico.domain.rate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MaterialRatingStatsRepository extends JpaRepository<MaterialRatingStats, Long> {
+
+    /**
+     * Soma os deltas ao agregado do material e, na mesma instrução, grava a média e o total
+     * derivados em {@code materials}, sem reescrever as demais colunas.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        WITH stats AS (
+            INSERT INTO material_rating_stats (material_id, rating_sum, rating_count, star_1, star_2, star_3, star_4, star_5)
+            VALUES (:materialId, :sumDelta, :countDelta, :star1, :star2, :star3, :star4, :star5)
+            ON CONFLICT (material_id) DO UPDATE SET
+                rating_sum   = material_rating_stats.rating_sum   + EXCLUDED.rating_sum,
+                rating_count = material_rating_stats.rating_count + EXCLUDED.rating_count,
+                star_1       = material_rating_stats.star_1       + EXCLUDED.star_1,
+                star_2       = material_rating_stats.star_2       + EXCLUDED.star_2,
+                star_3       = material_rating_stats.star_3       + EXCLUDED.star_3,
+                star_4       = material_rating_stats.star_4       + EXCLUDED.star_4,
+                star_5       = material_rating_stats.star_5       + EXCLUDED.star_5
+            RETURNING material_id, rating_sum, rating_count
+        )
+        UPDATE materials m
+        SET average_rating = CASE WHEN stats.rating_count = 0 THEN 0 ELSE stats.rating_sum::double precision / stats.rating_count END,
+            total_rating   = stats.rating_count
+        FROM stats
+        WHERE m.id = stats.material_id
+        """)
+    void applyDelta(
+            @Param("materialId") Long materialId,
+            @Param("sumDelta") long sumDelta,
+            @Param("countDelta") long countDelta,
+            @Param("star1") int star1,
+            @Param("star2") int star2,
+            @Param("star3") int star3,
+            @Param("star4") int star4,
+            @Param("star5") int star5
+    );
+}
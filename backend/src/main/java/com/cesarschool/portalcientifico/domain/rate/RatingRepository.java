@@ -2,14 +2,32 @@ package com.cesarschool.portalcientifico.domain.rate;
 
 import com.cesarschool.portalcientifico.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
     boolean existsByMaterialIdAndUser(Long materialId, User user);
 
-}
\ No newline at end of file
+    /**
+     * Grava a primeira avaliação do usuário. Retorna 0 quando ele já havia avaliado o material,
+     * caso em que a restrição única de (material_id, user_id) descarta a inserção.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO rating (material_id, user_id, value)
+        VALUES (:materialId, :userId, :value)
+        ON CONFLICT (material_id, user_id) DO NOTHING
+        """)
+    int insertIfAbsent(@Param("materialId") Long materialId, @Param("userId") String userId, @Param("value") int value);
+
+    @Query(nativeQuery = true, value = "SELECT value FROM rating WHERE material_id = :materialId AND user_id = :userId FOR UPDATE")
+    Optional<Integer> findValueForUpdate(@Param("materialId") Long materialId, @Param("userId") String userId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE rating SET value = :value WHERE material_id = :materialId AND user_id = :userId")
+    void updateValue(@Param("materialId") Long materialId, @Param("userId") String userId, @Param("value") int value);
+}
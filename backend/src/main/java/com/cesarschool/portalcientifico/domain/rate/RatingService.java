@@ -3,41 +3,54 @@ package com.cesarschool.portalcientifico.domain.rate;
 import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
 import com.cesarschool.portalcientifico.domain.rate.dto.RatingRequestDTO;
 import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
 @Service
 @RequiredArgsConstructor
 public class RatingService {
 
     private final RatingRepository ratingRepository;
     private final MaterialRepository materialRepository;
-
+    private final MaterialRatingStatsRepository ratingStatsRepository;
+    private final UserStatsService userStatsService;
+
+    /**
+     * Registra ou substitui a avaliação do usuário. A primeira avaliação entra pela restrição única
+     * de (material_id, user_id); numa reavaliação a linha existente é bloqueada e só a diferença
+     * para o valor anterior é aplicada ao agregado, que é incrementado atomicamente no banco.
+     */
     @Transactional
     public void saveRating(Long materialId, User user, RatingRequestDTO request) {
-        var material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new EntityNotFoundException("Material não encontrado para o id " + materialId));
-
-        long totalRatings = material.getTotalRatings();
-        double averageRating = material.getAverageRating();
-
-        var newRating = Rating.builder()
-                    .materialId(materialId)
-                    .user(user)
-                    .value(request.getValue())
-                    .build();
-
-        ratingRepository.save(newRating);
-
-        material.setTotalRatings(material.getTotalRatings() + 1);
-        double newAverage = (averageRating * totalRatings + request.getValue()) / (totalRatings + 1);
-        material.setAverageRating(newAverage);
+        if (!materialRepository.existsById(materialId)) {
+            throw new EntityNotFoundException("Material não encontrado para o id " + materialId);
+        }
+
+        int value = request.getValue();
+        int[] stars = new int[5];
+        stars[value - 1]++;
+
+        if (ratingRepository.insertIfAbsent(materialId, user.getId(), value) > 0) {
+            applyDelta(materialId, value, 1, stars);
+            return;
+        }
+
+        int previous = ratingRepository.findValueForUpdate(materialId, user.getId())
+                .orElseThrow(() -> new IllegalStateException("Avaliação removida durante a atualização"));
+        if (previous == value) {
+            return;
+        }
+        ratingRepository.updateValue(materialId, user.getId(), value);
+        stars[previous - 1]--;
+        applyDelta(materialId, value - previous, 0, stars);
+    }
 
-        materialRepository.save(material);
+    private void applyDelta(Long materialId, long sumDelta, long countDelta, int[] stars) {
+        ratingStatsRepository.applyDelta(materialId, sumDelta, countDelta, stars[0], stars[1], stars[2], stars[3], stars[4]);
+        userStatsService.materialRated(materialId, sumDelta, countDelta);
     }
 
     public boolean isRatedByUser(User user, Long materialId) {
@@ -0,0 +1,69 @@
+package com.cesarschool.portalcientifico.domain.s3;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lê apenas o intervalo {@code [offset, offset + length)} de um arquivo, permitindo enviar cada parte
+ * de um upload multipart direto do disco, sem carregá-la na memória.
+ */
+class FileSliceInputStream extends FilterInputStream {
+
+    private long remaining;
+
+    private FileSliceInputStream(FileChannel channel, long length) {
+        super(Channels.newInputStream(channel));
+        this.remaining = length;
+    }
+
+    static FileSliceInputStream open(Path path, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(offset);
+        return new FileSliceInputStream(channel, length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = super.read();
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int read = super.read(buffer, off, (int) Math.min(len, remaining));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -1,36 +1,240 @@
 package com.cesarschool.portalcientifico.domain.s3;
 
 import com.cesarschool.portalcientifico.config.S3Config;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class S3Service {
 
+    /**
+     * URLs em cache expiram antes da assinatura, garantindo que toda URL entregue ainda seja válida
+     * por pelo menos esta margem.
+     */
+    private static final Duration PRESIGNED_URL_SAFETY_MARGIN = Duration.ofMinutes(2);
+    private static final long PRESIGNED_URL_CACHE_SIZE = 10_000;
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
     private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final Cache<String, String> presignedUrls;
+    private final Timer presignTimer;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final int maxPartsInFlight;
+    private final ExecutorService partExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public S3Service() {
-        this.s3Client = S3Config.createS3Client();
+    public S3Service(S3Client s3Client, S3Presigner presigner, MeterRegistry meterRegistry,
+                     @Value("${api.s3.upload.multipart-threshold:16MB}") DataSize multipartThreshold,
+                     @Value("${api.s3.upload.part-size:8MB}") DataSize partSize,
+                     @Value("${api.s3.upload.max-parts-in-flight:4}") int maxPartsInFlight) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.partSize = partSize.toBytes();
+        this.maxPartsInFlight = maxPartsInFlight;
+        this.presignedUrls = Caffeine.newBuilder()
+                .expireAfterWrite(S3Config.SIGNATURE_DURATION.minus(PRESIGNED_URL_SAFETY_MARGIN))
+                .maximumSize(PRESIGNED_URL_CACHE_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrls, "s3.presigned-urls");
+        this.presignTimer = Timer.builder("s3.presign")
+                .description("Tempo para gerar uma URL pré-assinada do S3")
+                .register(meterRegistry);
     }
 
     public String uploadFile(MultipartFile file) throws IOException {
-        String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        byte[] fileContent = file.getBytes();
-        S3Config.uploadFile(s3Client, fileName, fileContent);
+        String fileName = generateFileName(file.getOriginalFilename());
+        upload(fileName, file);
         return fileName;
     }
 
     public String uploadFile(MultipartFile file, String userId) throws IOException {
-        String fileName = userId + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        byte[] fileContent = file.getBytes();
-        S3Config.uploadFile(s3Client, fileName, fileContent);
+        String fileName = userId + "_" + generateFileName(file.getOriginalFilename());
+        upload(fileName, file);
         return fileName;
     }
 
+    public String generateFileName(String originalFilename) {
+        return System.currentTimeMillis() + "_" + originalFilename;
+    }
+
+    /**
+     * Envia um arquivo já gravado em disco. Acima do limite de multipart, as partes são enviadas
+     * em paralelo, cada uma lida diretamente do arquivo.
+     */
+    public void uploadFile(Path path, String fileName) throws IOException {
+        long size = Files.size(path);
+        if (size <= multipartThreshold) {
+            putObject(fileName, path);
+        } else {
+            multipartUpload(fileName, path, size);
+        }
+    }
+
     public String generatePresignedUrl(String fileName) {
-        return S3Config.generatePresignedUrl(fileName);
+        return presignedUrls.get(fileName, key -> presignTimer.record(() -> presign(key)));
+    }
+
+    private String presign(String keyName) {
+        GetObjectRequest objectRequest = GetObjectRequest.builder()
+                .bucket(S3Config.BUCKET_NAME)
+                .key(keyName)
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(S3Config.SIGNATURE_DURATION)
+                .getObjectRequest(objectRequest)
+                .build();
+
+        return presigner.presignGetObject(presignRequest).url().toExternalForm();
+    }
+
+    /**
+     * O arquivo é copiado para disco e enviado a partir dele, então o heap usado por upload não
+     * depende do tamanho do arquivo.
+     */
+    private void upload(String fileName, MultipartFile file) throws IOException {
+        Path staged = Files.createTempFile("upload-", ".tmp");
+        try {
+            file.transferTo(staged);
+            uploadFile(staged, fileName);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    private void putObject(String fileName, Path path) {
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(S3Config.BUCKET_NAME)
+                    .key(fileName)
+                    .contentType(CONTENT_TYPE)
+                    .build();
+
+            s3Client.putObject(putObjectRequest, RequestBody.fromFile(path));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload file to S3", e);
+        }
+    }
+
+    private void multipartUpload(String fileName, Path path, long size) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(S3Config.BUCKET_NAME)
+                        .key(fileName)
+                        .contentType(CONTENT_TYPE)
+                        .build())
+                .uploadId();
+        try {
+            List<CompletedPart> parts = uploadParts(fileName, uploadId, path, size);
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(S3Config.BUCKET_NAME)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (Exception e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(S3Config.BUCKET_NAME)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .build());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException("Failed to upload file to S3", e);
+        }
+    }
+
+    private List<CompletedPart> uploadParts(String fileName, String uploadId, Path path, long size)
+            throws InterruptedException, ExecutionException {
+        Semaphore inFlight = new Semaphore(maxPartsInFlight);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                inFlight.acquire();
+                if (failed.get()) {
+                    // Uma parte já falhou: o upload será abortado, então as restantes não são enviadas.
+                    inFlight.release();
+                    break;
+                }
+                long start = offset;
+                long length = Math.min(partSize, size - offset);
+                int number = partNumber;
+                futures.add(partExecutor.submit(() -> {
+                    try {
+                        return uploadPart(fileName, uploadId, path, number, start, length);
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                parts.add(future.get());
+            }
+            return parts;
+        } catch (InterruptedException | ExecutionException | RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private CompletedPart uploadPart(String fileName, String uploadId, Path path, int partNumber, long offset, long length) {
+        UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(S3Config.BUCKET_NAME)
+                        .key(fileName)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build(),
+                RequestBody.fromContentProvider(() -> openSlice(path, offset, length), length, CONTENT_TYPE));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+    }
+
+    private static FileSliceInputStream openSlice(Path path, long offset, long length) {
+        try {
+            return FileSliceInputStream.open(path, offset, length);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read upload part", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdown();
     }
-}
\ No newline at end of file
+}
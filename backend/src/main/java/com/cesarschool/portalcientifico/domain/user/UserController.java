@@ -13,11 +13,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserService service;
     private final UserService userService;
 
@@ -80,4 +84,54 @@ public class UserController {
         boolean isFollowing = service.checkFollowStatus(user, targetUserId);
         return ResponseEntity.ok(isFollowing);
     }
-}
+
+    @Operation(
+            summary = "Listar seguidores de um usuário",
+            description = "Retorna, paginados, os usuários que seguem o usuário informado."
+    )
+    @ApiResponse(responseCode = "200", description = "Seguidores retornados com sucesso")
+    @GetMapping("/{userId}/followers")
+    public List<UserResponseDTO> getFollowers(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return userService.getFollowers(userId, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    @Operation(
+            summary = "Listar quem um usuário segue",
+            description = "Retorna, paginados, os usuários seguidos pelo usuário informado."
+    )
+    @ApiResponse(responseCode = "200", description = "Usuários seguidos retornados com sucesso")
+    @GetMapping("/{userId}/following")
+    public List<UserResponseDTO> getFollowing(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return userService.getFollowing(userId, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    @Operation(
+            summary = "Listar follows mútuos de um usuário",
+            description = "Retorna os usuários que o usuário informado segue e que também o seguem."
+    )
+    @ApiResponse(responseCode = "200", description = "Follows mútuos retornados com sucesso")
+    @GetMapping("/{userId}/mutuals")
+    public List<UserResponseDTO> getMutualFollows(@PathVariable String userId) {
+        return userService.getMutualFollows(userId);
+    }
+
+    @Operation(
+            summary = "Sugerir usuários para seguir",
+            description = "Sugere usuários seguidos por quem o usuário logado segue, ordenados pelo número de conexões em comum."
+    )
+    @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso")
+    @ApiResponse(responseCode = "503", description = "Grafo de follows ainda em carregamento", content = @Content)
+    @GetMapping("/me/follow-suggestions")
+    public List<UserResponseDTO> getFollowSuggestions(
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(hidden = true) Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return userService.getFollowSuggestions(user, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+}
\ No newline at end of file
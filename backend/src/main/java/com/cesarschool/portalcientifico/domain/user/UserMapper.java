@@ -0,0 +1,25 @@
+package com.cesarschool.portalcientifico.domain.user;
+
+import com.cesarschool.portalcientifico.config.MappingConfig;
+import com.cesarschool.portalcientifico.domain.user.payload.UserProfileDTO;
+import com.cesarschool.portalcientifico.domain.user.payload.UserResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * As URLs de imagens são pré-assinadas pelo {@code UserService} e as estatísticas vêm do
+ * {@code UserStatsService}; aqui só entram os campos copiados do usuário.
+ */
+@Mapper(config = MappingConfig.class)
+public interface UserMapper {
+
+    @Mapping(target = "profilePictureUrl", ignore = true)
+    UserResponseDTO toResponse(User user);
+
+    @Mapping(target = "profilePictureUrl", ignore = true)
+    @Mapping(target = "coverImageUrl", ignore = true)
+    @Mapping(target = "joinDate", ignore = true)
+    @Mapping(target = "interests", ignore = true)
+    @Mapping(target = "stats", ignore = true)
+    UserProfileDTO toProfile(User user);
+}
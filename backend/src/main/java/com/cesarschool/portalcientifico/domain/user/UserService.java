@@ -1,15 +1,20 @@
 package com.cesarschool.portalcientifico.domain.user;
 
+import com.cesarschool.portalcientifico.domain.material.timeline.FollowingTimelines;
 import com.cesarschool.portalcientifico.domain.s3.S3Service;
-import com.cesarschool.portalcientifico.domain.user.follow.Follow;
+import com.cesarschool.portalcientifico.domain.user.follow.FollowGraph;
 import com.cesarschool.portalcientifico.domain.user.follow.FollowRepository;
 import com.cesarschool.portalcientifico.domain.user.payload.*;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import com.cesarschool.portalcientifico.exception.EmailAlreadyExistsException;
 import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
+import com.cesarschool.portalcientifico.exception.FollowGraphNotReadyException;
+import com.cesarschool.portalcientifico.infra.security.PrincipalCache;
 import com.cesarschool.portalcientifico.infra.security.TokenService;
+import com.cesarschool.portalcientifico.infra.transaction.TransactionCallbacks;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
@@ -18,6 +23,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,12 +38,18 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
     private final S3Service s3Service;
-    private final ModelMapper mapper;
+    private final UserMapper mapper;
+    private final PrincipalCache principalCache;
+    private final UserStatsService userStatsService;
+    private final FollowGraph followGraph;
+    private final FollowingTimelines followingTimelines;
 
 
     public UserProfileDTO getUserProfile(String id) {
         User user = userRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
-        return mapper.map (user, UserProfileDTO.class);
+        UserProfileDTO profile = mapper.toProfile(user);
+        profile.setStats(userStatsService.getStats(id));
+        return profile;
     }
 
     public RegisterResponseDTO registerUser(RegisterRequestDTO registerRequestDTO) throws IOException {
@@ -60,8 +76,9 @@ public class UserService {
 
         String accessToken = tokenService.generateAccessToken(user);
         String refreshToken = tokenService.generateRefreshToken(user);
+        principalCache.invalidate(user.getEmail());
 
-        UserResponseDTO userResponseDTO = mapper.map(user, UserResponseDTO.class);
+        UserResponseDTO userResponseDTO = mapper.toResponse(user);
 
         if (user.getProfilePictureFileName() != null) {
             String presignedUrl = s3Service.generatePresignedUrl(user.getProfilePictureFileName());
@@ -75,13 +92,22 @@ public class UserService {
         User user = tokenService.validateRefreshToken(refreshToken)
                 .orElseThrow(() -> new BadCredentialsException("Refresh token é inválido"));
         String newAccessToken = tokenService.generateAccessToken(user);
+        principalCache.invalidate(user.getEmail());
         return TokenResponseDTO.builder().accessToken(newAccessToken).build();
     }
 
-    public void logout(String refreshToken, User user) {
+    /**
+     * O principal recebido pode ser a instância compartilhada do {@link PrincipalCache}, então o
+     * usuário é recarregado do banco antes de ser alterado.
+     */
+    @Transactional
+    public void logout(String refreshToken, User principal) {
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + principal.getId()));
         validateRefreshToken(refreshToken, user);
         user.setRefreshToken(null);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
     }
 
     private void validateEmailUniqueness(String email) {
@@ -96,20 +122,33 @@ public class UserService {
         }
     }
 
+    /**
+     * Alterna o follow sem leitura prévia: tenta remover e, se não havia follow, insere apoiado no
+     * índice único. O {@link FollowGraph} só é atualizado depois do commit.
+     */
     @Transactional
     public boolean toggleFollow(User user, String targetUserId) {
-        User targetUser = userRepository.findById(targetUserId)
-                .orElseThrow(() -> new EntityNotFoundException("Usuário alvo não encontrado"));
-
-        boolean alreadyFollowing = followRepository.existsByUserIdAndTargetUserId(user.getId(), targetUserId);
+        if (!userRepository.existsById(targetUserId)) {
+            throw new EntityNotFoundException("Usuário alvo não encontrado");
+        }
 
-        if (alreadyFollowing) {
-            followRepository.deleteByUserIdAndTargetUserId(user.getId(), targetUserId);
+        int removed = followRepository.deleteByUserIdAndTargetUserId(user.getId(), targetUserId);
+        if (removed > 0) {
+            userStatsService.followChanged(user.getId(), targetUserId, -removed);
+            TransactionCallbacks.afterCommit(() -> {
+                followGraph.remove(user.getId(), targetUserId);
+                followingTimelines.invalidate(user.getId());
+            });
             return false;
-        } else {
-            followRepository.save(Follow.builder().user(user).targetUser(targetUser).build());
-            return true;
         }
+
+        int inserted = followRepository.insertIfAbsent(user.getId(), targetUserId);
+        userStatsService.followChanged(user.getId(), targetUserId, inserted);
+        TransactionCallbacks.afterCommit(() -> {
+            followGraph.add(user.getId(), targetUserId);
+            followingTimelines.invalidate(user.getId());
+        });
+        return true;
     }
 
     @Transactional(readOnly = true)
@@ -117,8 +156,62 @@ public class UserService {
         if (user.getId().equals(targetUserId)) {
             return false;
         }
+        if (followGraph.isReady()) {
+            return followGraph.follows(user.getId(), targetUserId);
+        }
         return followRepository.existsByUserIdAndTargetUserId(user.getId(), targetUserId);
     }
 
+    public List<UserResponseDTO> getFollowers(String userId, int page, int size) {
+        if (followGraph.isReady()) {
+            return toUserResponses(followGraph.followers(userId, page * size, size));
+        }
+        return toUserResponses(followRepository.findFollowerIds(userId, PageRequest.of(page, size)));
+    }
+
+    public List<UserResponseDTO> getFollowing(String userId, int page, int size) {
+        if (followGraph.isReady()) {
+            return toUserResponses(followGraph.following(userId, page * size, size));
+        }
+        return toUserResponses(followRepository.findFollowingIds(userId, PageRequest.of(page, size)));
+    }
+
+    public List<UserResponseDTO> getMutualFollows(String userId) {
+        if (followGraph.isReady()) {
+            return toUserResponses(followGraph.mutuals(userId));
+        }
+        return toUserResponses(followRepository.findMutualIds(userId));
+    }
+
+    /**
+     * As sugestões dependem de percorrer o grafo em dois níveis, caro demais para o banco a cada
+     * requisição; enquanto o grafo não está carregado, a indisponibilidade é informada ao cliente.
+     */
+    public List<UserResponseDTO> getFollowSuggestions(User user, int limit) {
+        if (!followGraph.isReady()) {
+            throw new FollowGraphNotReadyException("Sugestões de usuários temporariamente indisponíveis");
+        }
+        return toUserResponses(followGraph.suggestions(user.getId(), limit));
+    }
+
+    private List<UserResponseDTO> toUserResponses(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(user -> {
+                    UserResponseDTO dto = mapper.toResponse(user);
+                    if (user.getProfilePictureFileName() != null) {
+                        dto.setProfilePictureUrl(s3Service.generatePresignedUrl(user.getProfilePictureFileName()));
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
 
 }
@@ -0,0 +1,4 @@
+package com.cesarschool.portalcientifico.domain.user.follow;
+
+public record FollowEdge(String userId, String targetUserId) {
+}
@@ -0,0 +1,324 @@
+package com.cesarschool.portalcientifico.domain.user.follow;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grafo de follows mantido em memória. Os ids dos usuários são internados como inteiros e cada
+ * usuário guarda dois arrays ordenados de inteiros, um por direção, de modo que as consultas são
+ * buscas binárias e interseções de arrays, sem ida ao banco.
+ * <p>
+ * É carregado pelo {@link FollowGraphLoader} e atualizado pelo {@code UserService} após o commit de
+ * cada follow. Em várias instâncias, cada uma enxerga apenas os follows feitos nela desde a carga.
+ * Atualizações recebidas antes da carga terminar ficam pendentes e são reaplicadas sobre as arestas
+ * carregadas, já que podem ter sido confirmadas depois da leitura feita pelo loader.
+ */
+@Component
+public class FollowGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> users = new ArrayList<>();
+    private int[][] following = new int[0][];
+    private int[][] followers = new int[0][];
+    private final List<PendingUpdate> pending = new ArrayList<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Substitui o grafo inteiro pelas arestas informadas e reaplica as atualizações pendentes.
+     */
+    public void load(Collection<FollowEdge> edges) {
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            users.clear();
+            int[] sources = new int[edges.size()];
+            int[] targets = new int[edges.size()];
+            int index = 0;
+            for (FollowEdge edge : edges) {
+                sources[index] = intern(edge.userId());
+                targets[index] = intern(edge.targetUserId());
+                index++;
+            }
+            following = buildAdjacency(sources, targets);
+            followers = buildAdjacency(targets, sources);
+            for (PendingUpdate update : pending) {
+                if (update.follow()) {
+                    link(update.userId(), update.targetUserId());
+                } else {
+                    unlink(update.userId(), update.targetUserId());
+                }
+            }
+            pending.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(String userId, String targetUserId) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                link(userId, targetUserId);
+            } else {
+                pending.add(new PendingUpdate(userId, targetUserId, true));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String userId, String targetUserId) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                unlink(userId, targetUserId);
+            } else {
+                pending.add(new PendingUpdate(userId, targetUserId, false));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean follows(String userId, String targetUserId) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            Integer target = ids.get(targetUserId);
+            return user != null && target != null && Arrays.binarySearch(following[user], target) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isMutual(String userId, String otherUserId) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            Integer other = ids.get(otherUserId);
+            return user != null && other != null
+                    && Arrays.binarySearch(following[user], other) >= 0
+                    && Arrays.binarySearch(following[other], user) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followerCount(String userId) {
+        return neighbours(followers, userId).length;
+    }
+
+    public int followingCount(String userId) {
+        return neighbours(following, userId).length;
+    }
+
+    public List<String> followers(String userId, int offset, int limit) {
+        return slice(followers, userId, offset, limit);
+    }
+
+    public List<String> following(String userId, int offset, int limit) {
+        return slice(following, userId, offset, limit);
+    }
+
+    /**
+     * Usuários que o usuário segue e que também o seguem.
+     */
+    public List<String> mutuals(String userId) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            int[] out = following[user];
+            int[] in = followers[user];
+            List<String> result = new ArrayList<>();
+            int i = 0;
+            int j = 0;
+            while (i < out.length && j < in.length) {
+                if (out[i] == in[j]) {
+                    result.add(users.get(out[i]));
+                    i++;
+                    j++;
+                } else if (out[i] < in[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sugestões de quem seguir: usuários seguidos por quem o usuário segue, ordenados pelo número de
+     * caminhos até eles e excluindo o próprio usuário e quem ele já segue.
+     */
+    public List<String> suggestions(String userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            int[] direct = following[user];
+            Map<Integer, Integer> paths = new HashMap<>();
+            for (int friend : direct) {
+                for (int candidate : following[friend]) {
+                    if (candidate != user && Arrays.binarySearch(direct, candidate) < 0) {
+                        paths.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            return paths.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> users.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] neighbours(int[][] adjacency, String userId) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            return user == null ? EMPTY : adjacency[user];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> slice(int[][] adjacency, String userId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(userId);
+            int[] neighbours = user == null ? EMPTY : adjacency[user];
+            int from = Math.min(Math.max(offset, 0), neighbours.length);
+            int to = Math.min(from + Math.max(limit, 0), neighbours.length);
+            List<String> result = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                result.add(users.get(neighbours[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(String userId, String targetUserId) {
+        int user = intern(userId);
+        int target = intern(targetUserId);
+        following[user] = insert(following[user], target);
+        followers[target] = insert(followers[target], user);
+    }
+
+    private void unlink(String userId, String targetUserId) {
+        Integer user = ids.get(userId);
+        Integer target = ids.get(targetUserId);
+        if (user != null && target != null) {
+            following[user] = delete(following[user], target);
+            followers[target] = delete(followers[target], user);
+        }
+    }
+
+    private int intern(String userId) {
+        Integer id = ids.get(userId);
+        if (id != null) {
+            return id;
+        }
+        int next = users.size();
+        ids.put(userId, next);
+        users.add(userId);
+        if (next >= following.length) {
+            int capacity = Math.max(16, following.length * 2);
+            following = grow(following, capacity);
+            followers = grow(followers, capacity);
+        }
+        return next;
+    }
+
+    private static int[][] grow(int[][] adjacency, int capacity) {
+        int[][] grown = Arrays.copyOf(adjacency, capacity);
+        Arrays.fill(grown, adjacency.length, capacity, EMPTY);
+        return grown;
+    }
+
+    private int[][] buildAdjacency(int[] from, int[] to) {
+        int[] degree = new int[users.size()];
+        for (int node : from) {
+            degree[node]++;
+        }
+        int[][] adjacency = new int[Math.max(16, users.size())][];
+        Arrays.fill(adjacency, EMPTY);
+        for (int node = 0; node < degree.length; node++) {
+            if (degree[node] > 0) {
+                adjacency[node] = new int[degree[node]];
+            }
+        }
+        int[] filled = new int[users.size()];
+        for (int i = 0; i < from.length; i++) {
+            adjacency[from[i]][filled[from[i]]++] = to[i];
+        }
+        for (int node = 0; node < degree.length; node++) {
+            adjacency[node] = distinctSorted(adjacency[node]);
+        }
+        return adjacency;
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        if (values.length < 2) {
+            return values;
+        }
+        Arrays.sort(values);
+        int size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static int[] insert(int[] values, int value) {
+        int position = Arrays.binarySearch(values, value);
+        if (position >= 0) {
+            return values;
+        }
+        int at = -position - 1;
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        return result;
+    }
+
+    private static int[] delete(int[] values, int value) {
+        int at = Arrays.binarySearch(values, value);
+        if (at < 0) {
+            return values;
+        }
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, at);
+        System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+        return result;
+    }
+
+    private record PendingUpdate(String userId, String targetUserId, boolean follow) {
+    }
+}
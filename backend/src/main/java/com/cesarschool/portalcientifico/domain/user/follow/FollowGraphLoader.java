@@ -0,0 +1,22 @@
+package com.cesarschool.portalcientifico.domain.user.follow;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Popula o {@link FollowGraph} a partir da tabela {@code follow} quando a aplicação sobe.
+ */
+@Component
+@RequiredArgsConstructor
+public class FollowGraphLoader {
+
+    private final FollowRepository followRepository;
+    private final FollowGraph followGraph;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        followGraph.load(followRepository.findAllEdges());
+    }
+}
@@ -1,13 +1,50 @@
 package com.cesarschool.portalcientifico.domain.user.follow;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     boolean existsByUserIdAndTargetUserId(String userId, String targetUserId);
 
-    void deleteByUserIdAndTargetUserId(String userId, String targetUserId);
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM follow WHERE user_id = :userId AND target_user_id = :targetUserId")
+    int deleteByUserIdAndTargetUserId(@Param("userId") String userId, @Param("targetUserId") String targetUserId);
+
+    /**
+     * Grava o follow apenas se ele ainda não existe, apoiado no índice único de (user_id, target_user_id).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO follow (user_id, target_user_id) VALUES (:userId, :targetUserId)
+        ON CONFLICT (user_id, target_user_id) DO NOTHING
+        """)
+    int insertIfAbsent(@Param("userId") String userId, @Param("targetUserId") String targetUserId);
+
+    /**
+     * Consultas usadas enquanto o {@link FollowGraph} ainda não foi carregado.
+     */
+    @Query("SELECT f.user.id FROM Follow f WHERE f.targetUser.id = :userId ORDER BY f.id")
+    List<String> findFollowerIds(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT f.targetUser.id FROM Follow f WHERE f.user.id = :userId ORDER BY f.id")
+    List<String> findFollowingIds(@Param("userId") String userId, Pageable pageable);
+
+    @Query(nativeQuery = true, value = """
+        SELECT f.target_user_id FROM follow f
+        JOIN follow back ON back.user_id = f.target_user_id AND back.target_user_id = f.user_id
+        WHERE f.user_id = :userId
+        ORDER BY f.id
+        """)
+    List<String> findMutualIds(@Param("userId") String userId);
 
+    @Query("SELECT new com.cesarschool.portalcientifico.domain.user.follow.FollowEdge(f.user.id, f.targetUser.id) FROM Follow f")
+    List<FollowEdge> findAllEdges();
 }
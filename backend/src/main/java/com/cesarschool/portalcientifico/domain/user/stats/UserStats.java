@@ -0,0 +1,46 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Estatísticas materializadas do perfil de um usuário. Os totais são mantidos por incrementos
+ * relativos em {@link UserStatsRepository} e corrigidos pelo {@link UserStatsReconciler}.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "total_uploads", nullable = false)
+    private long totalUploads;
+
+    @Column(name = "total_downloads", nullable = false)
+    private long totalDownloads;
+
+    @Column(name = "total_likes", nullable = false)
+    private long totalLikes;
+
+    @Column(nullable = false)
+    private long followers;
+
+    @Column(nullable = false)
+    private long following;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    public double getRating() {
+        return ratingCount == 0 ? 0 : (double) ratingSum / ratingCount;
+    }
+}
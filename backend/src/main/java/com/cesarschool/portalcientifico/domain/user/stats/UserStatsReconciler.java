@@ -0,0 +1,41 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Corrige periodicamente eventuais divergências entre {@code user_stats} e as tabelas de origem.
+ * Na primeira subida também preenche a tabela, registrando o backfill em {@code schema_backfills}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsReconciler.class);
+
+    private final UserStatsRepository userStatsRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (userStatsRepository.markBackfill() == 0) {
+            return;
+        }
+        int updated = userStatsRepository.reconcile();
+        log.info("Backfill de user_stats concluído: {} usuários preenchidos", updated);
+    }
+
+    @Scheduled(cron = "${api.users.stats-reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int updated = userStatsRepository.reconcile();
+        if (updated > 0) {
+            log.warn("{} estatísticas de usuários estavam divergentes e foram corrigidas", updated);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, String> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO user_stats (user_id, total_uploads, total_downloads, total_likes, followers, following, rating_sum, rating_count)
+        VALUES (:userId, :uploads, 0, 0, :followers, :following, 0, 0)
+        ON CONFLICT (user_id) DO UPDATE SET
+            total_uploads = user_stats.total_uploads + EXCLUDED.total_uploads,
+            followers     = user_stats.followers     + EXCLUDED.followers,
+            following     = user_stats.following     + EXCLUDED.following
+        """)
+    void applyDelta(
+            @Param("userId") String userId,
+            @Param("uploads") long uploads,
+            @Param("followers") long followers,
+            @Param("following") long following
+    );
+
+    /**
+     * Aplica ao autor do material os deltas de likes e avaliações recebidos por ele.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO user_stats (user_id, total_uploads, total_downloads, total_likes, followers, following, rating_sum, rating_count)
+        SELECT m.user_id, 0, 0, :likes, 0, 0, :ratingSum, :ratingCount FROM materials m WHERE m.id = :materialId
+        ON CONFLICT (user_id) DO UPDATE SET
+            total_likes  = user_stats.total_likes  + EXCLUDED.total_likes,
+            rating_sum   = user_stats.rating_sum   + EXCLUDED.rating_sum,
+            rating_count = user_stats.rating_count + EXCLUDED.rating_count
+        """)
+    void applyDeltaToOwner(
+            @Param("materialId") Long materialId,
+            @Param("likes") long likes,
+            @Param("ratingSum") long ratingSum,
+            @Param("ratingCount") long ratingCount
+    );
+
+    /**
+     * Retira do autor tudo o que o material contribuía. Deve rodar antes da exclusão do material.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        UPDATE user_stats s SET
+            total_uploads   = s.total_uploads   - 1,
+            total_downloads = s.total_downloads - m.total_download,
+            total_likes     = s.total_likes     - coalesce(lc.like_count, 0),
+            rating_sum      = s.rating_sum      - coalesce(rs.rating_sum, 0),
+            rating_count    = s.rating_count    - coalesce(rs.rating_count, 0)
+        FROM materials m
+        LEFT JOIN like_counters lc ON lc.target_type = 'MATERIAL' AND lc.target_id = m.id
+        LEFT JOIN material_rating_stats rs ON rs.material_id = m.id
+        WHERE m.id = :materialId AND s.user_id = m.user_id
+        """)
+    void subtractMaterial(@Param("materialId") Long materialId);
+
+    /**
+     * Registra o backfill inicial de {@code user_stats} em {@code schema_backfills}. Retorna 1 apenas na
+     * primeira vez; depois disso o marcador já existe e nada é inserido.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO schema_backfills (name) VALUES ('user_stats')
+        ON CONFLICT (name) DO NOTHING
+        """)
+    int markBackfill();
+
+    /**
+     * Recalcula todas as estatísticas a partir das tabelas de origem, alterando apenas as linhas que
+     * divergem. Incrementos confirmados durante a execução podem ser sobrescritos e voltam a ser
+     * contabilizados na próxima reconciliação.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+        INSERT INTO user_stats (user_id, total_uploads, total_downloads, total_likes, followers, following, rating_sum, rating_count)
+        SELECT u.id, coalesce(up.total, 0), coalesce(up.downloads, 0), coalesce(lk.total, 0),
+               coalesce(fr.total, 0), coalesce(fg.total, 0), coalesce(rt.rating_sum, 0), coalesce(rt.rating_count, 0)
+        FROM users u
+        LEFT JOIN (SELECT user_id, count(*) AS total, sum(total_download) AS downloads FROM materials GROUP BY user_id) up ON up.user_id = u.id
+        LEFT JOIN (SELECT m.user_id, count(*) AS total FROM likes l JOIN materials m ON m.id = l.target_id
+                   WHERE l.target_type = 'MATERIAL' GROUP BY m.user_id) lk ON lk.user_id = u.id
+        LEFT JOIN (SELECT target_user_id, count(*) AS total FROM follow GROUP BY target_user_id) fr ON fr.target_user_id = u.id
+        LEFT JOIN (SELECT user_id, count(*) AS total FROM follow GROUP BY user_id) fg ON fg.user_id = u.id
+        LEFT JOIN (SELECT m.user_id, sum(r.value) AS rating_sum, count(*) AS rating_count FROM rating r
+                   JOIN materials m ON m.id = r.material_id GROUP BY m.user_id) rt ON rt.user_id = u.id
+        ON CONFLICT (user_id) DO UPDATE SET
+            total_uploads   = EXCLUDED.total_uploads,
+            total_downloads = EXCLUDED.total_downloads,
+            total_likes     = EXCLUDED.total_likes,
+            followers       = EXCLUDED.followers,
+            following       = EXCLUDED.following,
+            rating_sum      = EXCLUDED.rating_sum,
+            rating_count    = EXCLUDED.rating_count
+        WHERE (user_stats.total_uploads, user_stats.total_downloads, user_stats.total_likes, user_stats.followers,
+               user_stats.following, user_stats.rating_sum, user_stats.rating_count)
+              IS DISTINCT FROM
+              (EXCLUDED.total_uploads, EXCLUDED.total_downloads, EXCLUDED.total_likes, EXCLUDED.followers,
+               EXCLUDED.following, EXCLUDED.rating_sum, EXCLUDED.rating_count)
+        """)
+    int reconcile();
+}
@@ -0,0 +1,65 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import com.cesarschool.portalcientifico.domain.user.payload.StatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mantém a tabela {@code user_stats}. Os métodos de registro devem ser chamados dentro da transação
+ * que altera a tabela de origem, para que estatística e dado não divirjam quando ela falha.
+ * Downloads são contabilizados em lote por {@code MaterialCounterRepository}.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+
+    public StatsDTO getStats(String userId) {
+        return userStatsRepository.findById(userId)
+                .map(stats -> StatsDTO.builder()
+                        .totalUploads((int) stats.getTotalUploads())
+                        .totalDownloads((int) stats.getTotalDownloads())
+                        .totalLikes((int) stats.getTotalLikes())
+                        .followers((int) stats.getFollowers())
+                        .following((int) stats.getFollowing())
+                        .rating(stats.getRating())
+                        .build())
+                .orElseGet(() -> StatsDTO.builder().build());
+    }
+
+    public void materialUploaded(String userId) {
+        userStatsRepository.applyDelta(userId, 1, 0, 0);
+    }
+
+    public void materialDeleted(Long materialId) {
+        userStatsRepository.subtractMaterial(materialId);
+    }
+
+    public void materialLiked(Long materialId, long delta) {
+        if (delta != 0) {
+            userStatsRepository.applyDeltaToOwner(materialId, delta, 0, 0);
+        }
+    }
+
+    public void materialRated(Long materialId, long sumDelta, long countDelta) {
+        userStatsRepository.applyDeltaToOwner(materialId, 0, sumDelta, countDelta);
+    }
+
+    /**
+     * Atualiza seguidor e seguido sempre na ordem dos ids: se A segue B enquanto B segue A, as duas
+     * transações bloqueiam as mesmas linhas na mesma ordem e uma apenas espera pela outra, sem deadlock.
+     */
+    public void followChanged(String userId, String targetUserId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (userId.compareTo(targetUserId) < 0) {
+            userStatsRepository.applyDelta(userId, 0, 0, delta);
+            userStatsRepository.applyDelta(targetUserId, 0, delta, 0);
+        } else {
+            userStatsRepository.applyDelta(targetUserId, 0, delta, 0);
+            userStatsRepository.applyDelta(userId, 0, 0, delta);
+        }
+    }
+}
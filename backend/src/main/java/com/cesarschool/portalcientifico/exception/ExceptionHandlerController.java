@@ -54,6 +54,33 @@ public class ExceptionHandlerController {
         return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> invalidCursorException(InvalidCursorException ex) {
+        ErrorResponse message = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                timestamp,
+                ex.getMessage());
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MaterialNotReadyException.class)
+    public ResponseEntity<ErrorResponse> materialNotReadyException(MaterialNotReadyException ex) {
+        ErrorResponse message = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                timestamp,
+                ex.getMessage());
+        return new ResponseEntity<>(message, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(FollowGraphNotReadyException.class)
+    public ResponseEntity<ErrorResponse> followGraphNotReadyException(FollowGraphNotReadyException ex) {
+        ErrorResponse message = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                timestamp,
+                ex.getMessage());
+        return new ResponseEntity<>(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> methodArgumentNotValidException(MethodArgumentNotValidException ex) {
         List<ValidationError> validationErrors = ex.getBindingResult()
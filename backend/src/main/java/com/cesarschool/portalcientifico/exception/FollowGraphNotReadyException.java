@@ -0,0 +1,8 @@
+package com.cesarschool.portalcientifico.exception;
+
+public class FollowGraphNotReadyException extends RuntimeException{
+
+    public FollowGraphNotReadyException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.cesarschool.portalcientifico.exception;
+
+public class MaterialNotReadyException extends RuntimeException{
+
+    public MaterialNotReadyException(String message){
+        super(message);
+    }
+}
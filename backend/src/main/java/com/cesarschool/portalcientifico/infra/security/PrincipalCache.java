@@ -0,0 +1,42 @@
+package com.cesarschool.portalcientifico.infra.security;
+
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Usuários autenticados, indexados pelo subject (email) do token, para que o {@link SecurityFilter}
+ * não consulte o banco a cada requisição. As instâncias são compartilhadas entre requisições e não
+ * devem ser alteradas: quem precisa gravar o usuário deve recarregá-lo do banco e invalidar a entrada.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, User> principals;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${api.security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${api.security.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+}
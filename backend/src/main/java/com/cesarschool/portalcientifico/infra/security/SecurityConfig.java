@@ -65,6 +65,8 @@ public class SecurityConfig {
                                 "/v1/auth/register",
                                 "/v1/auth/refresh-token",
                                 "/v1/materials",
+                                "/v1/materials/feed",
+                                "/v1/materials/autocomplete",
                                 "/v2/api-docs",
                                 "/v3/api-docs",
                                 "/v3/api-docs/**",
@@ -24,6 +24,8 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
     @Autowired
     UserRepository userRepository;
+    @Autowired
+    PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,10 +35,11 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                var login = tokenService.validateToken(token);
+                var jwt = tokenService.verify(token);
 
-                User user = userRepository.findByEmail(login)
-                        .orElseThrow(() -> new RuntimeException("User Not Found"));
+                User user = tokenService.principalFromClaims(jwt)
+                        .orElseGet(() -> principalCache.get(jwt.getSubject(), login -> userRepository.findByEmail(login)
+                                .orElseThrow(() -> new RuntimeException("User Not Found"))));
 
                 var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
                 var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
@@ -2,60 +2,134 @@ package com.cesarschool.portalcientifico.infra.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
 import com.cesarschool.portalcientifico.domain.user.User;
 import com.cesarschool.portalcientifico.domain.user.UserRepository;
+import com.cesarschool.portalcientifico.domain.user.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "login-auth-api";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLE_CLAIM = "role";
+    private static final String AREAS_CLAIM = "areas";
 
     private final UserRepository userRepository;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
 
-    public TokenService(UserRepository userRepository) {
+    /**
+     * Quando ativo, o access token carrega id, nome, papel e áreas preferidas do usuário, e o
+     * {@link SecurityFilter} monta o principal sem acessar o banco. Essas informações podem ficar
+     * desatualizadas até o token expirar.
+     */
+    private final boolean principalClaims;
+
+    /**
+     * Tokens já verificados, para que requisições repetidas do mesmo cliente não refaçam o HMAC nem o
+     * parse do JSON. Só entram tokens válidos, e a expiração é conferida novamente a cada acesso.
+     */
+    private final Cache<String, DecodedJWT> verifiedTokens;
+
+    public TokenService(UserRepository userRepository,
+                        @Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.principal-claims:false}") boolean principalClaims,
+                        @Value("${api.security.token.verified-cache.ttl:1m}") Duration verifiedTokenTtl,
+                        @Value("${api.security.token.verified-cache.max-size:10000}") long verifiedTokenCacheSize) {
         this.userRepository = userRepository;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.principalClaims = principalClaims;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(verifiedTokenTtl)
+                .maximumSize(verifiedTokenCacheSize)
+                .build();
     }
 
     public String generateAccessToken(User user) {
-        return generateToken(user, LocalDateTime.now().plusMinutes(60));
+        return generateToken(user, LocalDateTime.now().plusMinutes(60), principalClaims);
     }
 
     public String generateRefreshToken(User user) {
-        String refreshToken = generateToken(user, LocalDateTime.now().plusDays(1));
+        String refreshToken = generateToken(user, LocalDateTime.now().plusDays(1), false);
         user.setRefreshToken(refreshToken);
         userRepository.save(user);
         return refreshToken;
     }
 
     public String validateToken(String token) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        return JWT.require(algorithm)
-                .withIssuer("login-auth-api")
-                .build()
-                .verify(token)
-                .getSubject();
+        return verify(token).getSubject();
+    }
+
+    public DecodedJWT verify(String token) {
+        DecodedJWT jwt = verifiedTokens.get(token, verifier::verify);
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        if (expiresAt != null && !Instant.now().isBefore(expiresAt)) {
+            verifiedTokens.invalidate(token);
+            throw new TokenExpiredException("The Token has expired on " + expiresAt + ".", expiresAt);
+        }
+        return jwt;
+    }
+
+    /**
+     * Monta o principal a partir das claims do token, quando ele foi emitido com {@code principal-claims}.
+     */
+    public Optional<User> principalFromClaims(DecodedJWT jwt) {
+        Claim userId = jwt.getClaim(USER_ID_CLAIM);
+        if (userId.isMissing()) {
+            return Optional.empty();
+        }
+        List<String> areas = jwt.getClaim(AREAS_CLAIM).asList(String.class);
+        return Optional.of(User.builder()
+                .id(userId.asString())
+                .email(jwt.getSubject())
+                .name(jwt.getClaim(NAME_CLAIM).asString())
+                .role(UserRole.valueOf(jwt.getClaim(ROLE_CLAIM).asString()))
+                .preferredAreas(areas == null ? List.of() : areas.stream().map(Area::valueOf).toList())
+                .build());
     }
 
     public Optional<User> validateRefreshToken(String refreshToken) {
         return userRepository.findByRefreshToken(refreshToken);
     }
 
-    private String generateToken(User user, LocalDateTime expiration) {
+    private String generateToken(User user, LocalDateTime expiration, boolean withPrincipalClaims) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.create()
-                    .withIssuer("login-auth-api")
+            JWTCreator.Builder builder = JWT.create()
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
-                    .withExpiresAt(expiration.toInstant(ZoneOffset.of("-03:00")))
-                    .sign(algorithm);
+                    .withExpiresAt(expiration.toInstant(ZoneOffset.of("-03:00")));
+            if (withPrincipalClaims) {
+                List<String> areas = user.getPreferredAreas() == null
+                        ? List.of()
+                        : user.getPreferredAreas().stream().map(Area::name).toList();
+                builder.withClaim(USER_ID_CLAIM, user.getId())
+                        .withClaim(NAME_CLAIM, user.getName())
+                        .withClaim(ROLE_CLAIM, user.getRole().name())
+                        .withClaim(AREAS_CLAIM, areas);
+            }
+            return builder.sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token");
         }
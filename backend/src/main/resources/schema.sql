@@ -0,0 +1,103 @@
+-- Executado após o Hibernate atualizar o schema (spring.jpa.defer-datasource-initialization).
+-- Todas as instruções precisam ser idempotentes, pois rodam a cada inicialização.
+
+-- Backfills que devem rodar uma única vez: cada um registra seu nome aqui na mesma instrução em que executa.
+CREATE TABLE IF NOT EXISTS schema_backfills (
+    name       VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Busca textual de materiais: título (peso A), palavras-chave (B) e descrição (C).
+ALTER TABLE materials ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION material_search_vector(target_id bigint) RETURNS tsvector
+LANGUAGE sql STABLE AS $$
+    SELECT setweight(to_tsvector('portuguese', coalesce(m.title, '')), 'A')
+        || setweight(to_tsvector('portuguese', coalesce(string_agg(k.keywords, ' '), '')), 'B')
+        || setweight(to_tsvector('portuguese', coalesce(m.description, '')), 'C')
+    FROM materials m
+    LEFT JOIN material_keywords k ON k.material_id = m.id
+    WHERE m.id = target_id
+    GROUP BY m.id
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_materials_search_vector ON materials USING GIN (search_vector);
+
+UPDATE materials SET search_vector = material_search_vector(id) WHERE search_vector IS NULL;
+
+-- Materiais com envio ao S3 pendente, consultados pela limpeza de uploads órfãos.
+CREATE INDEX IF NOT EXISTS idx_materials_pending_created_at ON materials (created_at) WHERE status = 'PENDING';
+
+-- Um like por usuário e alvo: remove duplicatas antigas antes de criar o índice único usado pelo toggle;
+-- depois que o índice existe não há mais duplicatas a remover.
+WITH backfill AS (
+    INSERT INTO schema_backfills (name) VALUES ('likes.dedupe')
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+DELETE FROM likes l USING likes d
+WHERE l.user_id = d.user_id AND l.target_type = d.target_type AND l.target_id = d.target_id AND l.id > d.id
+  AND EXISTS (SELECT 1 FROM backfill);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_likes_user_target ON likes (user_id, target_type, target_id);
+
+-- Contadores de likes: preenchidos a partir da tabela likes na primeira inicialização;
+-- depois disso são mantidos pelo LikeService na mesma transação do toggle.
+WITH backfill AS (
+    INSERT INTO schema_backfills (name) VALUES ('like_counters')
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+INSERT INTO like_counters (target_type, target_id, like_count)
+SELECT target_type, target_id, count(*) FROM likes
+WHERE EXISTS (SELECT 1 FROM backfill)
+GROUP BY target_type, target_id
+ON CONFLICT (target_type, target_id) DO NOTHING;
+
+-- Agregado de avaliações: preenchido a partir da tabela rating na primeira inicialização, já alinhando a média
+-- derivada em materials; depois disso ambos são mantidos pelo RatingService na mesma transação da avaliação.
+WITH backfill AS (
+    INSERT INTO schema_backfills (name) VALUES ('material_rating_stats')
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+), stats AS (
+    SELECT material_id, sum(value) AS rating_sum, count(*) AS rating_count,
+           count(*) FILTER (WHERE value = 1) AS star_1, count(*) FILTER (WHERE value = 2) AS star_2,
+           count(*) FILTER (WHERE value = 3) AS star_3, count(*) FILTER (WHERE value = 4) AS star_4,
+           count(*) FILTER (WHERE value = 5) AS star_5
+    FROM rating
+    WHERE EXISTS (SELECT 1 FROM backfill)
+    GROUP BY material_id
+), inserted AS (
+    INSERT INTO material_rating_stats (material_id, rating_sum, rating_count, star_1, star_2, star_3, star_4, star_5)
+    SELECT material_id, rating_sum, rating_count, star_1, star_2, star_3, star_4, star_5 FROM stats
+    ON CONFLICT (material_id) DO NOTHING
+)
+UPDATE materials m
+SET average_rating = CASE WHEN s.rating_count = 0 THEN 0 ELSE s.rating_sum::double precision / s.rating_count END,
+    total_rating   = s.rating_count
+FROM stats s
+WHERE s.material_id = m.id AND m.total_rating IS DISTINCT FROM s.rating_count;
+
+-- Um follow por par de usuários: remove duplicatas antigas antes de criar o índice único usado pelo toggle.
+DELETE FROM follow f USING follow d
+WHERE f.user_id = d.user_id AND f.target_user_id = d.target_user_id AND f.id > d.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_follow_user_target ON follow (user_id, target_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_follow_target_user ON follow (target_user_id);
+
+-- Estatísticas de perfil: o preenchimento inicial de user_stats é feito pelo UserStatsReconciler na subida,
+-- registrado em schema_backfills, reaproveitando a mesma consulta da reconciliação agendada.
+
+-- Total de comentários por material: preenche o contador na primeira inicialização após a criação da coluna;
+-- depois disso ele é mantido pelo CommentService na mesma transação do comentário.
+WITH backfill AS (
+    INSERT INTO schema_backfills (name) VALUES ('materials.comment_count')
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+UPDATE materials m
+SET comment_count = c.total
+FROM (SELECT material_id, count(*) AS total FROM comments GROUP BY material_id) c
+WHERE c.material_id = m.id AND EXISTS (SELECT 1 FROM backfill);
@@ -0,0 +1,26 @@
+package com.cesarschool.portalcientifico.benchmark;
+
+import com.cesarschool.portalcientifico.domain.material.FileSizes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link FileSizes#format}, chamado a cada upload, para tamanhos em bytes, KB e MB.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileSizesBenchmark {
+
+    @Param({"512", "52428", "15728640"})
+    private long sizeInBytes;
+
+    @Benchmark
+    public String format() {
+        return FileSizes.format(sizeInBytes);
+    }
+}
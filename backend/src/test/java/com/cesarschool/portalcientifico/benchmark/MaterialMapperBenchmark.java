@@ -0,0 +1,95 @@
+package com.cesarschool.portalcientifico.benchmark;
+
+import com.cesarschool.portalcientifico.domain.material.Material;
+import com.cesarschool.portalcientifico.domain.material.MaterialMapper;
+import com.cesarschool.portalcientifico.domain.material.MaterialStatus;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.MaterialResponseDTO;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import com.cesarschool.portalcientifico.domain.user.User;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de mapear uma página de listagem ({@code PAGE_SIZE} materiais) para {@link MaterialResponseDTO}:
+ * <ul>
+ *     <li>{@code modelMapper}: implementação anterior, com {@code ModelMapper.map} e os ajustes manuais de tipo, área e autor;</li>
+ *     <li>{@code mapStruct}: {@link MaterialMapper#toSummary} gerado em tempo de compilação.</li>
+ * </ul>
+ * A alocação por página aparece com o profiler de GC: {@code mvn -Pbenchmark test -Djmh.args="MaterialMapper -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaterialMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ModelMapper modelMapper;
+    private MaterialMapper materialMapper;
+    private List<Material> page;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        materialMapper = Mappers.getMapper(MaterialMapper.class);
+        User author = User.builder().id("u1").name("Ana").email("ana@x.com").build();
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(Material.builder()
+                    .id(id)
+                    .title("Material " + id)
+                    .description("Resumo sobre algoritmos e estruturas de dados")
+                    .type(TypeMaterial.NOTES)
+                    .area(Area.COMPUTER_SCIENCE)
+                    .keywords(Set.of("algoritmos", "grafos", "prova"))
+                    .fileName("f" + id + ".pdf")
+                    .fileType("application/pdf")
+                    .fileSize("1.2 MB")
+                    .totalDownload((int) id * 3)
+                    .totalView((int) id * 10)
+                    .averageRating(4.5)
+                    .totalRatings(12L)
+                    .commentCount(id)
+                    .user(author)
+                    .uploadDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                    .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+                    .status(MaterialStatus.READY)
+                    .build());
+        }
+        modelMapper.map(page.getFirst(), MaterialResponseDTO.class);
+    }
+
+    @Benchmark
+    public List<MaterialResponseDTO> modelMapper() {
+        List<MaterialResponseDTO> result = new ArrayList<>(page.size());
+        for (Material material : page) {
+            MaterialResponseDTO dto = modelMapper.map(material, MaterialResponseDTO.class);
+            dto.setArea(material.getArea().getDescription());
+            dto.setType(material.getType().getDescription());
+            dto.setAuthor(material.getUser().getName());
+            dto.setCommentCount(material.getCommentCount());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<MaterialResponseDTO> mapStruct() {
+        List<MaterialResponseDTO> result = new ArrayList<>(page.size());
+        for (Material material : page) {
+            result.add(materialMapper.toSummary(material));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.cesarschool.portalcientifico.benchmark;
+
+import com.cesarschool.portalcientifico.domain.material.Material;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import com.cesarschool.portalcientifico.domain.material.search.MaterialSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca com filtros no {@link MaterialSearchIndex} sobre {@code materials} documentos sintéticos:
+ * termo exato, prefixo do último termo e consulta com filtros de tipo e área.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaterialSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "algoritmos", "estruturas", "dados", "grafos", "cálculo", "diferencial", "integral", "constituição",
+            "direito", "penal", "anatomia", "fisiologia", "marketing", "finanças", "psicologia", "cognitiva",
+            "educação", "didática", "pintura", "escultura", "redes", "compiladores", "banco", "sistemas"
+    };
+
+    @Param({"10000"})
+    private int materials;
+
+    private MaterialSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new MaterialSearchIndex();
+        for (long id = 1; id <= materials; id++) {
+            int keyword = random.nextInt(WORDS.length);
+            index.index(Material.builder()
+                    .id(id)
+                    .title(words(random, 4))
+                    .description(words(random, 12))
+                    .keywords(Set.of(WORDS[keyword], WORDS[(keyword + 1) % WORDS.length]))
+                    .type(TypeMaterial.values()[random.nextInt(TypeMaterial.values().length)])
+                    .area(Area.values()[random.nextInt(Area.values().length)])
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id))
+                    .build());
+        }
+        index.markReady();
+    }
+
+    @Benchmark
+    public long[] singleTerm() {
+        return index.search("algoritmos", List.of(), List.of());
+    }
+
+    @Benchmark
+    public long[] prefix() {
+        return index.search("estruturas da", List.of(), List.of());
+    }
+
+    @Benchmark
+    public long[] filtered() {
+        return index.search("redes sistemas", List.of(TypeMaterial.NOTES, TypeMaterial.ARTICLE), List.of(Area.COMPUTER_SCIENCE));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+}
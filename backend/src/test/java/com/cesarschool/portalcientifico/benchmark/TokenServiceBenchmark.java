@@ -0,0 +1,74 @@
+package com.cesarschool.portalcientifico.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.UserRole;
+import com.cesarschool.portalcientifico.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da emissão do access token no login e da validação no {@code SecurityFilter}:
+ * <ul>
+ *     <li>{@code generateAccessToken}: {@link TokenService#generateAccessToken}, assinatura HMAC a cada chamada;</li>
+ *     <li>{@code perRequestVerifier}: implementação anterior, que recriava o algoritmo e o verificador a cada chamada;</li>
+ *     <li>{@code sharedVerifier}: verificador único, com HMAC e parse a cada chamada (cache miss);</li>
+ *     <li>{@code cachedVerification}: {@link TokenService#verify} com o token já no cache.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "my-secret-key";
+
+    private TokenService tokenService;
+    private JWTVerifier verifier;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(null, SECRET, false, Duration.ofMinutes(1), 10_000);
+        verifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("login-auth-api").build();
+        user = User.builder()
+                .id("u1")
+                .email("ana@x.com")
+                .role(UserRole.USER)
+                .build();
+        token = tokenService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public DecodedJWT perRequestVerifier() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("login-auth-api")
+                .build()
+                .verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT sharedVerifier() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT cachedVerification() {
+        return tokenService.verify(token);
+    }
+}
@@ -9,12 +9,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -27,7 +28,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,8 +41,8 @@ class CommentServiceTest {
     @Mock
     private MaterialRepository materialRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
 
     @InjectMocks
     private CommentService commentService;
@@ -103,6 +104,7 @@ class CommentServiceTest {
             assertEquals(fixedTime, result.getCreatedAt(), "A data de criação no DTO deve ser a mesma do comentário salvo.");
 
             verify(materialRepository).existsById(materialId);
+            verify(materialRepository).incrementCommentCount(materialId, 1);
             verify(commentRepository).save(commentCaptor.capture());
             Comment capturedComment = commentCaptor.getValue();
             assertEquals(materialId, capturedComment.getMaterialId(), "O materialId do comentário capturado deve ser o correto.");
@@ -124,6 +126,7 @@ class CommentServiceTest {
 
             verify(materialRepository).existsById(materialId);
             verify(commentRepository, never()).save(any(Comment.class));
+            verify(materialRepository, never()).incrementCommentCount(any(), anyLong());
         }
     }
 
@@ -144,9 +147,6 @@ class CommentServiceTest {
             CommentResponseDTO dto1 = CommentResponseDTO.builder().id(1L).content("Comentário 1").createdAt(fixedTime).build();
             CommentResponseDTO dto2 = CommentResponseDTO.builder().id(2L).content("Comentário 2").createdAt(fixedTime.minusHours(1)).build();
 
-            when(modelMapper.map(comment1, CommentResponseDTO.class)).thenReturn(dto1);
-            when(modelMapper.map(comment2, CommentResponseDTO.class)).thenReturn(dto2);
-
             Page<CommentResponseDTO> resultPage = commentService.getCommentsByMaterialId(materialId, pageable);
 
             assertNotNull(resultPage, "A página de resultados não deve ser nula.");
@@ -166,7 +166,7 @@ class CommentServiceTest {
             assertEquals(dto2.getCreatedAt(), resultDto2.getCreatedAt());
 
             verify(commentRepository).findByMaterialId(materialId, pageable);
-            verify(modelMapper, times(2)).map(any(Comment.class), eq(CommentResponseDTO.class));
+            verify(commentMapper, times(2)).toResponse(any(Comment.class));
         }
 
         @Test
@@ -182,7 +182,7 @@ class CommentServiceTest {
             assertEquals(0, resultPage.getTotalElements(), "O número total de elementos deve ser 0.");
 
             verify(commentRepository).findByMaterialId(materialId, pageable);
-            verify(modelMapper, never()).map(any(), any());
+            verify(commentMapper, never()).toResponse(any());
         }
     }
 
@@ -226,13 +226,14 @@ class CommentServiceTest {
     class DeleteCommentTests {
 
         @Test
-        @DisplayName("Deve chamar deleteById no repositório com o ID correto")
-        void deleteComment_shouldCallRepositoryDeleteById() {
-            doNothing().when(commentRepository).deleteById(commentId);
+        @DisplayName("Deve remover o comentário decrementando o contador do material no mesmo comando")
+        void deleteComment_shouldDeleteAndDecrementCount() {
+            when(commentRepository.deleteAndDecrementCount(commentId)).thenReturn(1L);
 
             commentService.deleteComment(commentId);
 
-            verify(commentRepository).deleteById(commentId);
+            verify(commentRepository).deleteAndDecrementCount(commentId);
+            verify(commentRepository, never()).deleteById(any());
         }
     }
 }
@@ -1,18 +1,16 @@
 package com.cesarschool.portalcientifico.domain.like;
 
 import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -31,12 +29,15 @@ class LikeServiceTest {
     @Mock
     private LikeRepository likeRepository;
 
+    @Mock
+    private LikeCounterRepository likeCounterRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
     @InjectMocks
     private LikeService likeService;
 
-    @Captor
-    private ArgumentCaptor<Like> likeCaptor;
-
     private User user;
     private com.cesarschool.portalcientifico.domain.like.TargetType targetType;
     private Long targetId;
@@ -56,42 +57,45 @@ class LikeServiceTest {
     class ToggleLikeTests {
 
         @Test
-        @DisplayName("Deve adicionar um like quando não existe")
-        void toggleLike_shouldAddLike_whenLikeDoesNotExist() {
-            when(likeRepository.findByUserIdAndTarget(user.getId(), targetType, targetId))
-                    .thenReturn(Optional.empty());
+        @DisplayName("Deve retornar true quando o like é inserido")
+        void toggleLike_shouldReturnTrue_whenLikeIsInserted() {
+            when(likeRepository.toggle(user.getId(), targetType.name(), targetId)).thenReturn(1L);
 
             boolean result = likeService.toggleLike(user, targetType, targetId);
 
             assertTrue(result, "O método deve retornar true indicando que o like foi adicionado.");
-            verify(likeRepository).save(likeCaptor.capture());
-            Like savedLike = likeCaptor.getValue();
-            assertNotNull(savedLike, "Um objeto Like deve ser salvo.");
-            assertEquals(user, savedLike.getUser(), "O usuário do like salvo deve ser o usuário fornecido.");
-            assertEquals(targetType, savedLike.getTargetType(), "O tipo de alvo do like salvo deve ser o tipo fornecido.");
-            assertEquals(targetId, savedLike.getTargetId(), "O ID do alvo do like salvo deve ser o ID fornecido.");
-            assertNotNull(savedLike.getCreatedAt(), "A data de criação do like não deve ser nula.");
-            verify(likeRepository, never()).delete(any(Like.class));
+            verify(userStatsService).materialLiked(targetId, 1L);
         }
 
         @Test
-        @DisplayName("Deve remover um like quando já existe")
-        void toggleLike_shouldRemoveLike_whenLikeExists() {
-            Like existingLike = Like.builder()
-                    .id(5L)
-                    .user(user)
-                    .targetType(targetType)
-                    .targetId(targetId)
-                    .createdAt(LocalDateTime.now().minusDays(1))
-                    .build();
-            when(likeRepository.findByUserIdAndTarget(user.getId(), targetType, targetId))
-                    .thenReturn(Optional.of(existingLike));
+        @DisplayName("Deve retornar false quando o like é removido")
+        void toggleLike_shouldReturnFalse_whenLikeIsRemoved() {
+            when(likeRepository.toggle(user.getId(), targetType.name(), targetId)).thenReturn(-1L);
 
             boolean result = likeService.toggleLike(user, targetType, targetId);
 
             assertFalse(result, "O método deve retornar false indicando que o like foi removido.");
-            verify(likeRepository).delete(existingLike);
-            verify(likeRepository, never()).save(any(Like.class));
+            verify(userStatsService).materialLiked(targetId, -1L);
+        }
+
+        @Test
+        @DisplayName("Não deve alterar as estatísticas de usuário ao curtir um comentário")
+        void toggleLike_shouldNotTouchUserStats_whenTargetIsComment() {
+            when(likeRepository.toggle(user.getId(), COMMENT.name(), targetId)).thenReturn(1L);
+
+            likeService.toggleLike(user, COMMENT, targetId);
+
+            verifyNoInteractions(userStatsService);
+        }
+
+        @Test
+        @DisplayName("Deve retornar true quando outra requisição inseriu o mesmo like ao mesmo tempo")
+        void toggleLike_shouldReturnTrue_whenConcurrentInsertWon() {
+            when(likeRepository.toggle(user.getId(), targetType.name(), targetId)).thenReturn(0L);
+
+            boolean result = likeService.toggleLike(user, targetType, targetId);
+
+            assertTrue(result, "O like permanece registrado pela requisição concorrente.");
         }
     }
 
@@ -100,15 +104,26 @@ class LikeServiceTest {
     class CountLikesTests {
 
         @Test
-        @DisplayName("Deve retornar a contagem correta de likes para um alvo")
-        void countLikes_shouldReturnCorrectCount() {
-            long expectedCount = 15L;
-            when(likeRepository.countByTarget(targetType, targetId)).thenReturn(expectedCount);
+        @DisplayName("Deve retornar o total do contador do alvo")
+        void countLikes_shouldReturnCounterValue() {
+            LikeCounterId id = new LikeCounterId(targetType, targetId);
+            when(likeCounterRepository.findById(id)).thenReturn(Optional.of(new LikeCounter(id, 15L)));
+
+            long actualCount = likeService.countLikes(targetType, targetId);
+
+            assertEquals(15L, actualCount, "A contagem de likes retornada deve ser a do contador.");
+            verify(likeRepository, never()).countByTarget(any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve contar na tabela de likes quando o alvo ainda não tem contador")
+        void countLikes_shouldFallbackToCount_whenCounterIsMissing() {
+            when(likeCounterRepository.findById(new LikeCounterId(targetType, targetId))).thenReturn(Optional.empty());
+            when(likeRepository.countByTarget(targetType, targetId)).thenReturn(4L);
 
             long actualCount = likeService.countLikes(targetType, targetId);
 
-            assertEquals(expectedCount, actualCount, "A contagem de likes retornada deve ser igual à esperada.");
-            verify(likeRepository).countByTarget(targetType, targetId);
+            assertEquals(4L, actualCount, "A contagem deve vir da consulta de fallback.");
         }
     }
 
@@ -146,20 +161,11 @@ class LikeServiceTest {
         @Test
         @DisplayName("Deve retornar um mapa com a contagem de likes para cada ID de alvo fornecido")
         void countLikesByTargetIds_shouldReturnMapWithCounts() {
-            // Given (Dado)
             List<Long> targetIds = List.of(3105L, 3106L, 3107L);
             TargetType type = MATERIAL;
 
-            User user1 = new User(); user1.setId("123e4567-e89b-12d3-a456-426614174000");
-            User user2 = new User(); user2.setId("123e4567-e89b-12d3-a456-426614174002");
-
-            List<Like> likesFromRepo = List.of(
-                    Like.builder().user(user1).targetType(type).targetId(3105L).createdAt(LocalDateTime.now()).build(),
-                    Like.builder().user(user2).targetType(type).targetId(3105L).createdAt(LocalDateTime.now()).build(),
-                    Like.builder().user(user1).targetType(type).targetId(3106L).createdAt(LocalDateTime.now()).build()
-            );
-
-            when(likeRepository.findByTargetTypeAndTargetIdIn(type, targetIds)).thenReturn(likesFromRepo);
+            when(likeCounterRepository.findCounts(type, targetIds))
+                    .thenReturn(List.of(new LikeCount(3105L, 2L), new LikeCount(3106L, 1L), new LikeCount(3107L, 0L)));
 
             Map<Long, Long> result = likeService.countLikesByTargetIds(type, targetIds);
 
@@ -168,38 +174,31 @@ class LikeServiceTest {
             assertEquals(2L, result.get(3105L), "A contagem para targetId 3105L deve ser 2.");
             assertEquals(1L, result.get(3106L), "A contagem para targetId 3106L deve ser 1.");
             assertNull(result.get(3107L), "Não deve haver entrada para targetId 3107L, pois não tem likes.");
-            verify(likeRepository).findByTargetTypeAndTargetIdIn(type, targetIds);
+            verify(likeRepository, never()).countByTargetIds(any(), any());
         }
 
         @Test
-        @DisplayName("Deve retornar um mapa vazio se nenhum ID de alvo for fornecido")
-        void countLikesByTargetIds_shouldReturnEmptyMap_whenNoTargetIdsProvided() {
-            List<Long> targetIds = Collections.emptyList();
-            TargetType type = MATERIAL;
+        @DisplayName("Deve contar em um único GROUP BY apenas os alvos sem contador")
+        void countLikesByTargetIds_shouldFallbackForMissingCounters() {
+            List<Long> targetIds = List.of(3109L, 3110L);
+            TargetType type = COMMENT;
 
-            when(likeRepository.findByTargetTypeAndTargetIdIn(type, targetIds)).thenReturn(Collections.emptyList());
+            when(likeCounterRepository.findCounts(type, targetIds)).thenReturn(List.of(new LikeCount(3109L, 3L)));
+            when(likeRepository.countByTargetIds(type, List.of(3110L))).thenReturn(List.of(new LikeCount(3110L, 5L)));
 
             Map<Long, Long> result = likeService.countLikesByTargetIds(type, targetIds);
 
-            assertNotNull(result, "O mapa de resultados não deve ser nulo.");
-            assertTrue(result.isEmpty(), "O mapa de resultados deve estar vazio.");
-            verify(likeRepository).findByTargetTypeAndTargetIdIn(type, targetIds);
+            assertEquals(Map.of(3109L, 3L, 3110L, 5L), result);
         }
 
         @Test
-        @DisplayName("Deve retornar um mapa vazio se não houver likes para os IDs fornecidos")
-        void countLikesByTargetIds_shouldReturnEmptyMap_whenNoLikesFoundForProvidedIds() {
-            List<Long> targetIds = List.of(3109L, 3110L);
-            TargetType type = COMMENT;
-
-            when(likeRepository.findByTargetTypeAndTargetIdIn(type, targetIds)).thenReturn(Collections.emptyList());
-
-            Map<Long, Long> result = likeService.countLikesByTargetIds(type, targetIds);
+        @DisplayName("Deve retornar um mapa vazio se nenhum ID de alvo for fornecido")
+        void countLikesByTargetIds_shouldReturnEmptyMap_whenNoTargetIdsProvided() {
+            Map<Long, Long> result = likeService.countLikesByTargetIds(MATERIAL, Collections.emptyList());
 
             assertNotNull(result, "O mapa de resultados não deve ser nulo.");
-            assertTrue(result.isEmpty(), "O mapa de resultados deve estar vazio pois não há likes.");
-            verify(likeRepository).findByTargetTypeAndTargetIdIn(type, targetIds);
+            assertTrue(result.isEmpty(), "O mapa de resultados deve estar vazio.");
+            verifyNoInteractions(likeCounterRepository);
         }
     }
 }
-
@@ -0,0 +1,97 @@
+package com.cesarschool.portalcientifico.domain.like;
+
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.UserRepository;
+import com.cesarschool.portalcientifico.domain.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dispara toggles simultâneos para o mesmo usuário e alvo contra o banco real, verificando que a
+ * restrição única impede likes duplicados e que o contador acompanha a tabela {@code likes}.
+ */
+@SpringBootTest
+@DisplayName("Testes de concorrência para LikeService.toggleLike")
+class LikeToggleConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TOGGLES_PER_THREAD = 50;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private long targetId;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Usuário de Carga")
+                .email("carga-" + UUID.randomUUID() + "@teste.com")
+                .password("senha")
+                .role(UserRole.USER)
+                .build());
+        targetId = System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM likes WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM like_counters WHERE target_type = 'COMMENT' AND target_id = ?", targetId);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Não deve gerar likes duplicados nem divergência no contador sob toggles concorrentes")
+    void toggleLike_shouldStayConsistentUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < TOGGLES_PER_THREAD; j++) {
+                        likeService.toggleLike(user, TargetType.COMMENT, targetId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long likes = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM likes WHERE user_id = ? AND target_type = 'COMMENT' AND target_id = ?",
+                Long.class, user.getId(), targetId);
+        assertTrue(likes <= 1, "Não pode haver mais de um like do mesmo usuário no mesmo alvo.");
+        assertEquals(likes, likeService.countLikes(TargetType.COMMENT, targetId),
+                "O contador deve refletir exatamente os likes gravados.");
+        assertEquals(likes == 1, likeService.isLikedByUser(user, TargetType.COMMENT, targetId));
+    }
+}
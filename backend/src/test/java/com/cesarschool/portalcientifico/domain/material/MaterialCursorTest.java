@@ -0,0 +1,94 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+import com.cesarschool.portalcientifico.exception.ErrorResponse;
+import com.cesarschool.portalcientifico.exception.ExceptionHandlerController;
+import com.cesarschool.portalcientifico.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para MaterialCursor")
+class MaterialCursorTest {
+
+    @Nested
+    @DisplayName("Testes para encode e decode")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Deve recuperar data e ID a partir do token")
+        void decode_shouldRoundTripDateTime() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000);
+
+            MaterialCursor cursor = MaterialCursor.decode(MaterialCursor.of(createdAt, 42L).encode());
+
+            assertEquals(createdAt, cursor.sortKeyAsDateTime());
+            assertEquals(42L, cursor.id());
+        }
+
+        @Test
+        @DisplayName("Deve recuperar chaves numéricas a partir do token")
+        void decode_shouldRoundTripNumbers() {
+            assertEquals(1234, MaterialCursor.decode(MaterialCursor.of(1234, 7L).encode()).sortKeyAsInt());
+            assertEquals(41234.5, MaterialCursor.decode(MaterialCursor.of(41234.5, 7L).encode()).sortKeyAsDouble());
+        }
+
+        @Test
+        @DisplayName("Deve gerar tokens seguros para URL, sem padding")
+        void encode_shouldBeUrlSafe() {
+            String token = MaterialCursor.of("a|b?c/d", Long.MAX_VALUE).encode();
+
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+            assertEquals("a|b?c/d", MaterialCursor.decode(token).sortKey());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para cursores inválidos")
+    class InvalidCursorTests {
+
+        @Test
+        @DisplayName("Deve rejeitar tokens que não são Base64")
+        void decode_shouldRejectMalformedBase64() {
+            assertThrows(InvalidCursorException.class, () -> MaterialCursor.decode("@@não-é-base64@@"));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar tokens sem separador ou com ID não numérico")
+        void decode_shouldRejectMalformedContent() {
+            assertThrows(InvalidCursorException.class, () -> MaterialCursor.decode(encodeRaw("sem-separador")));
+            assertThrows(InvalidCursorException.class, () -> MaterialCursor.decode(encodeRaw("2024-05-01T10:00|abc")));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursores de outra listagem")
+        void sortKey_shouldRejectWrongType() {
+            MaterialCursor numeric = MaterialCursor.decode(MaterialCursor.of(1234, 7L).encode());
+            MaterialCursor dateTime = MaterialCursor.decode(MaterialCursor.of(LocalDateTime.now(), 7L).encode());
+
+            assertThrows(InvalidCursorException.class, numeric::sortKeyAsDateTime);
+            assertThrows(InvalidCursorException.class, dateTime::sortKeyAsInt);
+            assertThrows(InvalidCursorException.class, dateTime::sortKeyAsDouble);
+        }
+
+        @Test
+        @DisplayName("Deve responder 400 para cursores inválidos")
+        void invalidCursor_shouldMapToBadRequest() {
+            ResponseEntity<ErrorResponse> response = new ExceptionHandlerController()
+                    .invalidCursorException(new InvalidCursorException("Cursor inválido"));
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+
+        private String encodeRaw(String raw) {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
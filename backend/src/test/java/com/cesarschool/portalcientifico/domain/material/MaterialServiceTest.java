@@ -0,0 +1,611 @@
+package com.cesarschool.portalcientifico.domain.material;
+
+import com.cesarschool.portalcientifico.domain.material.counter.MaterialDownloadTracker;
+import com.cesarschool.portalcientifico.domain.material.counter.MaterialViewCounter;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.CursorPageResponse;
+import com.cesarschool.portalcientifico.domain.material.dto.DownloadUrlResponse;
+import com.cesarschool.portalcientifico.domain.material.dto.MaterialResponseDTO;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import com.cesarschool.portalcientifico.domain.material.dto.MaterialRequestDTO;
+import com.cesarschool.portalcientifico.domain.material.recommendation.MaterialRecommender;
+import com.cesarschool.portalcientifico.domain.material.search.MaterialSearchIndex;
+import com.cesarschool.portalcientifico.domain.material.timeline.FollowingTimelines;
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import com.cesarschool.portalcientifico.domain.material.upload.MaterialUploadPipeline;
+import com.cesarschool.portalcientifico.domain.s3.S3Service;
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
+import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
+import com.cesarschool.portalcientifico.exception.InvalidCursorException;
+import com.cesarschool.portalcientifico.exception.MaterialNotReadyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para MaterialService")
+class MaterialServiceTest {
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private MaterialSearchIndex searchIndex;
+
+    @Mock
+    private MaterialViewCounter viewCounter;
+
+    @Mock
+    private MaterialDownloadTracker downloadTracker;
+
+    @Mock
+    private MaterialUploadPipeline uploadPipeline;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private FollowingTimelines followingTimelines;
+
+    @Mock
+    private TrendingTopics trendingTopics;
+
+    @Mock
+    private MaterialRecommender recommender;
+
+    @Spy
+    private MaterialMapper mapper = Mappers.getMapper(MaterialMapper.class);
+
+    @InjectMocks
+    private MaterialService materialService;
+
+    private User author;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setId("123e4567-e89b-12d3-a456-426614174000");
+        author.setName("Autor de Teste");
+
+        pageable = PageRequest.of(0, 10);
+    }
+
+    private Material material(Long id) {
+        return Material.builder()
+                .id(id)
+                .title("Material " + id)
+                .type(TypeMaterial.ARTICLE)
+                .area(Area.COMPUTER_SCIENCE)
+                .keywords(new HashSet<>())
+                .comments(new ArrayList<>())
+                .fileName("arquivo-" + id + ".pdf")
+                .user(author)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getMaterials")
+    class GetMaterialsTests {
+
+        @Test
+        @DisplayName("Deve hidratar apenas os IDs da página preservando a ordem do banco")
+        void getMaterials_shouldHydratePageIdsInDatabaseOrder() {
+            List<Long> pageIds = List.of(30L, 10L, 20L);
+            when(materialRepository.findIdsByFilters(any(), any(), any(), any(), eq(pageable)))
+                    .thenReturn(new PageImpl<>(pageIds, pageable, 42));
+            when(materialRepository.findAllWithJoinByIdIn(pageIds))
+                    .thenReturn(List.of(material(10L), material(20L), material(30L)));
+
+            Page<MaterialResponseDTO> result = materialService.getMaterials(null, null, null, null, null, pageable);
+
+            assertEquals(List.of(30L, 10L, 20L), result.map(MaterialResponseDTO::getId).getContent(),
+                    "A ordem da página de IDs deve ser preservada após a hidratação.");
+            assertEquals(42, result.getTotalElements(), "O total deve vir da consulta paginada de IDs.");
+            assertEquals("Ciência da Computação", result.getContent().getFirst().getArea());
+            assertEquals("Autor de Teste", result.getContent().getFirst().getAuthor());
+            verify(materialRepository, times(1)).findAllWithJoinByIdIn(pageIds);
+        }
+
+        @Test
+        @DisplayName("Não deve executar a consulta de hidratação quando a página de IDs está vazia")
+        void getMaterials_shouldSkipHydration_whenPageIsEmpty() {
+            when(materialRepository.searchIdsByRelevance(eq("inexistente"), anyBoolean(), any(), anyBoolean(), any(), any(), anyInt(), any()))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            Page<MaterialResponseDTO> result = materialService.getMaterials("inexistente", null, null, null, null, pageable);
+
+            assertTrue(result.isEmpty(), "A página de resultados deve estar vazia.");
+            verify(materialRepository, never()).findAllWithJoinByIdIn(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Deve ranquear por relevância quando há termo de busca sem ordenação explícita")
+        void getMaterials_shouldRankByRelevance_whenSearchHasNoSort() {
+            when(materialRepository.searchIdsByRelevance(eq("direito penal"), eq(false), eq(List.of("ARTICLE")),
+                    eq(true), any(), any(), eq(0), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            materialService.getMaterials("  direito penal ", List.of(TypeMaterial.ARTICLE), null, null, null, pageable);
+
+            verify(materialRepository, never()).findIdsByFilters(any(), any(), any(), any(), any());
+            verify(materialRepository, never()).searchIds(any(), anyBoolean(), any(), anyBoolean(), any(), any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Deve paginar os resultados do índice em memória quando ele está pronto")
+        void getMaterials_shouldUseInMemoryIndex_whenReady() {
+            Pageable secondPage = PageRequest.of(1, 2);
+            when(searchIndex.isReady()).thenReturn(true);
+            when(searchIndex.search("algoritmos", null, List.of(Area.COMPUTER_SCIENCE))).thenReturn(new long[]{9L, 7L, 5L, 3L, 1L});
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L, 3L))).thenReturn(List.of(material(3L), material(5L)));
+
+            Page<MaterialResponseDTO> result = materialService.getMaterials("algoritmos", null, List.of(Area.COMPUTER_SCIENCE), null, null, secondPage);
+
+            assertEquals(List.of(5L, 3L), result.map(MaterialResponseDTO::getId).getContent());
+            assertEquals(5, result.getTotalElements());
+            verify(materialRepository, never()).searchIdsByRelevance(any(), anyBoolean(), any(), anyBoolean(), any(), any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Deve ir ao banco quando há filtros que o índice em memória não cobre")
+        void getMaterials_shouldFallbackToDatabase_whenIndexCannotServeFilters() {
+            when(searchIndex.isReady()).thenReturn(true);
+            when(materialRepository.searchIdsByRelevance(eq("algoritmos"), anyBoolean(), any(), anyBoolean(), any(), any(), eq(10), any()))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            materialService.getMaterials("algoritmos", null, null, null, 10, pageable);
+
+            verify(searchIndex, never()).search(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve traduzir a ordenação para colunas quando a busca tem ordenação explícita")
+        void getMaterials_shouldSortByColumn_whenSearchHasExplicitSort() {
+            Pageable byDate = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+            when(materialRepository.searchIds(eq("direito"), anyBoolean(), any(), anyBoolean(), any(), any(), anyInt(), any()))
+                    .thenReturn(new PageImpl<>(List.of(), byDate, 0));
+
+            materialService.getMaterials("direito", null, null, null, null, byDate);
+
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(materialRepository).searchIds(eq("direito"), anyBoolean(), any(), anyBoolean(), any(), any(), anyInt(), pageableCaptor.capture());
+            assertEquals(Sort.by(Sort.Direction.DESC, "created_at"), pageableCaptor.getValue().getSort());
+            assertEquals(1, pageableCaptor.getValue().getPageNumber());
+        }
+
+        @Test
+        @DisplayName("Deve descartar a ordenação por relevância quando não há termo de busca")
+        void getMaterials_shouldDropRelevanceSort_whenThereIsNoSearch() {
+            Pageable byRelevance = PageRequest.of(0, 10, Sort.by("relevance"));
+            when(materialRepository.findIdsByFilters(any(), any(), any(), any(), any()))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            materialService.getMaterials(" ", null, null, null, null, byRelevance);
+
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(materialRepository).findIdsByFilters(any(), any(), any(), any(), pageableCaptor.capture());
+            assertTrue(pageableCaptor.getValue().getSort().isUnsorted());
+        }
+
+        @Test
+        @DisplayName("Deve ignorar IDs removidos entre a paginação e a hidratação")
+        void getMaterials_shouldSkipIdsDeletedBetweenQueries() {
+            List<Long> pageIds = List.of(1L, 2L);
+            when(materialRepository.findIdsByFilters(any(), any(), any(), any(), eq(pageable)))
+                    .thenReturn(new PageImpl<>(pageIds, pageable, 2));
+            when(materialRepository.findAllWithJoinByIdIn(pageIds)).thenReturn(List.of(material(2L)));
+
+            Page<MaterialResponseDTO> result = materialService.getMaterials(null, null, null, null, null, pageable);
+
+            assertEquals(List.of(2L), result.map(MaterialResponseDTO::getId).getContent());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getMaterialsFeed")
+    class GetMaterialsFeedTests {
+
+        private static final LocalDateTime LAST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59);
+        private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        @Test
+        @DisplayName("Deve buscar size + 1 IDs e usar o excedente apenas para indicar a próxima fatia")
+        void getMaterialsFeed_shouldFetchOneExtraId() {
+            Material newest = material(9L);
+            newest.setCreatedAt(LocalDateTime.of(2024, 5, 2, 8, 0));
+            Material older = material(7L);
+            older.setCreatedAt(LocalDateTime.of(2024, 5, 1, 8, 0));
+            when(materialRepository.findIdsByFiltersAfter(null, null, EPOCH, null, LAST_CREATED_AT, Long.MAX_VALUE, Limit.of(3)))
+                    .thenReturn(List.of(9L, 7L, 5L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(9L, 7L))).thenReturn(List.of(older, newest));
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getMaterialsFeed(null, null, null, null, null, null, 2);
+
+            assertEquals(List.of(9L, 7L), page.getContent().stream().map(MaterialResponseDTO::getId).toList());
+            assertTrue(page.isHasNext());
+            assertEquals(MaterialCursor.of(older.getCreatedAt(), 7L).encode(), page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Deve continuar a partir da data de criação e do ID do cursor")
+        void getMaterialsFeed_shouldContinueFromCreatedAtCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 8, 0);
+            String cursor = MaterialCursor.of(createdAt, 7L).encode();
+            when(materialRepository.findIdsByFiltersAfter(null, null, EPOCH, null, createdAt, 7L, Limit.of(3)))
+                    .thenReturn(List.of(5L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L))).thenReturn(List.of(material(5L)));
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getMaterialsFeed(null, null, null, null, null, cursor, 2);
+
+            assertEquals(1, page.getContent().size());
+            assertFalse(page.isHasNext());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Deve usar a busca com keyset quando há termo de busca")
+        void getMaterialsFeed_shouldUseKeysetSearch_whenSearchIsPresent() {
+            when(materialRepository.searchIdsAfter(eq("grafos"), eq(true), any(), eq(false), eq(List.of("LAW")), any(),
+                    eq(0), eq(LAST_CREATED_AT), eq(Long.MAX_VALUE), eq(21)))
+                    .thenReturn(List.of());
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getMaterialsFeed(" grafos ", null, List.of(Area.LAW), null, null, null, 20);
+
+            assertTrue(page.getContent().isEmpty());
+            assertFalse(page.isHasNext());
+            verify(materialRepository, never()).findIdsByFiltersAfter(any(), any(), any(), any(), any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursores malformados ou de outra listagem sem consultar o banco")
+        void getMaterialsFeed_shouldRejectInvalidCursor() {
+            String numericCursor = MaterialCursor.of(1234, 7L).encode();
+
+            assertThrows(InvalidCursorException.class,
+                    () -> materialService.getMaterialsFeed(null, null, null, null, null, "@@inválido@@", 20));
+            assertThrows(InvalidCursorException.class,
+                    () -> materialService.getMaterialsFeed(null, null, null, null, null, numericCursor, 20));
+            verifyNoInteractions(materialRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getRecommendedMaterialsFeed")
+    class GetRecommendedMaterialsFeedTests {
+
+        @Test
+        @DisplayName("Deve paginar as recomendações do modelo pela posição na lista")
+        void getRecommendedMaterialsFeed_shouldPageModelRecommendations() {
+            when(recommender.recommend(author, 200)).thenReturn(List.of(9L, 7L, 5L, 3L, 1L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(9L, 7L))).thenReturn(List.of(material(9L), material(7L)));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L, 3L))).thenReturn(List.of(material(3L)));
+
+            CursorPageResponse<MaterialResponseDTO> first = materialService.getRecommendedMaterialsFeed(author, null, 2);
+            CursorPageResponse<MaterialResponseDTO> second = materialService.getRecommendedMaterialsFeed(author, first.getNextCursor(), 2);
+
+            assertEquals(List.of(9L, 7L), first.getContent().stream().map(MaterialResponseDTO::getId).toList());
+            assertEquals(List.of(3L), second.getContent().stream().map(MaterialResponseDTO::getId).toList());
+            assertTrue(second.isHasNext());
+            assertEquals(3L, MaterialCursor.decode(second.getNextCursor()).id());
+            verify(materialRepository, never()).findIdsOrderByTotalDownloadDescAfter(anyInt(), anyLong(), any());
+            verify(materialRepository, never()).findIdsByAreaInAfter(any(), anyInt(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Deve continuar após o último material entregue quando o modelo muda entre as páginas")
+        void getRecommendedMaterialsFeed_shouldRealignCursor_whenModelWasRebuilt() {
+            when(recommender.recommend(author, 200)).thenReturn(List.of(4L, 9L, 2L, 7L, 5L, 3L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L, 3L))).thenReturn(List.of(material(5L), material(3L)));
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getRecommendedMaterialsFeed(
+                    author, MaterialCursor.of(2, 7L).encode(), 2);
+
+            assertEquals(List.of(5L, 3L), page.getContent().stream().map(MaterialResponseDTO::getId).toList());
+            assertFalse(page.isHasNext());
+        }
+
+        @Test
+        @DisplayName("Deve recorrer ao total de downloads quando o modelo não tem recomendações para o usuário")
+        void getRecommendedMaterialsFeed_shouldUseTotalDownloadCursor() {
+            Material first = material(8L);
+            first.setTotalDownload(120);
+            when(materialRepository.findIdsOrderByTotalDownloadDescAfter(Integer.MAX_VALUE, Long.MAX_VALUE, Limit.of(2)))
+                    .thenReturn(List.of(8L, 6L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(8L))).thenReturn(List.of(first));
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getRecommendedMaterialsFeed(author, null, 1);
+
+            assertTrue(page.isHasNext());
+            when(materialRepository.findIdsOrderByTotalDownloadDescAfter(120, 8L, Limit.of(2))).thenReturn(List.of());
+            materialService.getRecommendedMaterialsFeed(author, page.getNextCursor(), 1);
+
+            verify(materialRepository).findIdsOrderByTotalDownloadDescAfter(120, 8L, Limit.of(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getRecommendedMaterials")
+    class GetRecommendedMaterialsTests {
+
+        @Test
+        @DisplayName("Deve paginar as recomendações do modelo sem consultar áreas ou downloads")
+        void getRecommendedMaterials_shouldPageModelRecommendations() {
+            Pageable secondPage = PageRequest.of(1, 2);
+            when(recommender.recommend(author, 200)).thenReturn(List.of(9L, 7L, 5L, 3L, 1L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L, 3L))).thenReturn(List.of(material(3L), material(5L)));
+
+            Page<MaterialResponseDTO> result = materialService.getRecommendedMaterials(author, secondPage);
+
+            assertEquals(List.of(5L, 3L), result.getContent().stream().map(MaterialResponseDTO::getId).toList());
+            assertEquals(5, result.getTotalElements());
+            verify(materialRepository, never()).findIdsByAreaIn(any(), any());
+            verify(materialRepository, never()).findIdsOrderByTotalDownloadDesc(any());
+        }
+
+        @Test
+        @DisplayName("Deve paginar pelas áreas preferidas do usuário quando existirem")
+        void getRecommendedMaterials_shouldUsePreferredAreas() {
+            author.setPreferredAreas(List.of(Area.LAW));
+            when(materialRepository.findIdsByAreaIn(List.of(Area.LAW), pageable))
+                    .thenReturn(new PageImpl<>(List.of(5L), pageable, 1));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L))).thenReturn(List.of(material(5L)));
+
+            Page<MaterialResponseDTO> result = materialService.getRecommendedMaterials(author, pageable);
+
+            assertEquals(1, result.getContent().size());
+            verify(materialRepository, never()).findIdsOrderByTotalDownloadDesc(any());
+        }
+
+        @Test
+        @DisplayName("Deve usar os mais baixados quando o usuário não tem áreas preferidas")
+        void getRecommendedMaterials_shouldFallbackToMostDownloaded() {
+            when(materialRepository.findIdsOrderByTotalDownloadDesc(pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            Page<MaterialResponseDTO> result = materialService.getRecommendedMaterials(author, pageable);
+
+            assertTrue(result.isEmpty());
+            verify(materialRepository, never()).findIdsByAreaIn(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para os materiais em alta")
+    class TrendingMaterialsTests {
+
+        @Test
+        @DisplayName("Deve ordenar pela pontuação pré-calculada e filtrar pela área quando informada")
+        void getTrendingMaterials_shouldUseHotScoreRanking() {
+            when(materialRepository.findIdsByAreaOrderByHotScoreDesc(Area.LAW, pageable))
+                    .thenReturn(new PageImpl<>(List.of(5L), pageable, 1));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(5L))).thenReturn(List.of(material(5L)));
+
+            Page<MaterialResponseDTO> result = materialService.getTrendingMaterials(Area.LAW, pageable);
+
+            assertEquals(1, result.getContent().size());
+            verify(materialRepository, never()).findIdsOrderByHotScoreDesc(any());
+            verify(materialRepository, never()).findIdsOrderByTotalDownloadDesc(any());
+        }
+
+        @Test
+        @DisplayName("Deve continuar a fatia a partir da pontuação e do ID do último material")
+        void getTrendingMaterialsFeed_shouldUseHotScoreCursor() {
+            Material first = material(8L);
+            first.setHotScore(41234.5);
+            when(materialRepository.findIdsOrderByHotScoreDescAfter(Double.MAX_VALUE, Long.MAX_VALUE, Limit.of(2)))
+                    .thenReturn(List.of(8L, 6L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(8L))).thenReturn(List.of(first));
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getTrendingMaterialsFeed(null, null, 1);
+
+            when(materialRepository.findIdsOrderByHotScoreDescAfter(41234.5, 8L, Limit.of(2))).thenReturn(List.of());
+            materialService.getTrendingMaterialsFeed(null, page.getNextCursor(), 1);
+
+            verify(materialRepository).findIdsOrderByHotScoreDescAfter(41234.5, 8L, Limit.of(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getFollowingFeed")
+    class GetFollowingFeedTests {
+
+        @Test
+        @DisplayName("Deve montar a fatia a partir do timeline e usar o ID do último material como cursor")
+        void getFollowingFeed_shouldPageTimelineIds() {
+            when(followingTimelines.idsBefore(author.getId(), Long.MAX_VALUE, 2)).thenReturn(List.of(9L, 7L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(9L))).thenReturn(List.of(material(9L)));
+
+            CursorPageResponse<MaterialResponseDTO> first = materialService.getFollowingFeed(author, null, 1);
+
+            assertTrue(first.isHasNext());
+            assertEquals(1, first.getContent().size());
+
+            when(followingTimelines.idsBefore(author.getId(), 9L, 2)).thenReturn(List.of(7L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(7L))).thenReturn(List.of(material(7L)));
+
+            CursorPageResponse<MaterialResponseDTO> second = materialService.getFollowingFeed(author, first.getNextCursor(), 1);
+
+            assertFalse(second.isHasNext());
+            assertNull(second.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Deve seguir paginando pelo último ID da página quando os materiais já foram excluídos")
+        void getFollowingFeed_shouldKeepCursor_whenPageMaterialsWereDeleted() {
+            when(followingTimelines.idsBefore(author.getId(), Long.MAX_VALUE, 3)).thenReturn(List.of(9L, 8L, 7L));
+            when(materialRepository.findAllWithJoinByIdIn(List.of(9L, 8L))).thenReturn(List.of());
+
+            CursorPageResponse<MaterialResponseDTO> page = materialService.getFollowingFeed(author, null, 2);
+
+            assertTrue(page.getContent().isEmpty());
+            assertTrue(page.isHasNext());
+            assertEquals(8L, MaterialCursor.decode(page.getNextCursor()).id());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getMaterialDetails")
+    class GetMaterialDetailsTests {
+
+        @Test
+        @DisplayName("Deve montar os detalhes da consulta única e registrar a visualização sem gravar o material")
+        void getMaterialDetails_shouldBuildFromSingleQueryAndCountView() {
+            MaterialDetailView detail = mock(MaterialDetailView.class);
+            when(detail.getId()).thenReturn(7L);
+            when(detail.getType()).thenReturn("NOTES");
+            when(detail.getArea()).thenReturn("LAW");
+            when(detail.getAuthor()).thenReturn("Autor");
+            when(detail.getKeywords()).thenReturn("constituição" + MaterialDetailView.KEYWORD_SEPARATOR + "prova");
+            when(detail.getTotalView()).thenReturn(10);
+            when(detail.getTotalDownload()).thenReturn(2);
+            when(detail.getCommentCount()).thenReturn(4L);
+            when(detail.getLikeCount()).thenReturn(5L);
+            when(detail.getLiked()).thenReturn(true);
+            when(detail.getRated()).thenReturn(false);
+            when(materialRepository.findDetailById(7L, author.getId())).thenReturn(Optional.of(detail));
+            when(viewCounter.pending(7L)).thenReturn(3L);
+
+            MaterialResponseDTO result = materialService.getMaterialDetails(7L, author);
+
+            assertEquals(13, result.getTotalView());
+            assertEquals("Resumo", result.getType());
+            assertEquals("Direito", result.getArea());
+            assertEquals(List.of("constituição", "prova"), result.getKeywords());
+            assertEquals(5L, result.getLikeCount());
+            assertTrue(result.isLiked());
+            assertFalse(result.isUserRating());
+            verify(viewCounter).increment(7L);
+            verify(materialRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar EntityNotFoundException sem registrar visualização quando o material não existe")
+        void getMaterialDetails_shouldThrow_whenMaterialDoesNotExist() {
+            when(materialRepository.findDetailById(7L, author.getId())).thenReturn(Optional.empty());
+
+            assertThrows(EntityNotFoundException.class, () -> materialService.getMaterialDetails(7L, author));
+            verifyNoInteractions(viewCounter);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método getFileNameByMaterialId")
+    class GetFileNameByMaterialIdTests {
+
+        @Test
+        @DisplayName("Deve registrar o download do usuário ao gerar a URL")
+        void getFileNameByMaterialId_shouldRecordDownload() {
+            Material material = material(4L);
+            material.setFileName("arquivo.pdf");
+            when(materialRepository.findById(4L)).thenReturn(Optional.of(material));
+            when(s3Service.generatePresignedUrl("arquivo.pdf")).thenReturn("https://s3/arquivo.pdf");
+
+            DownloadUrlResponse result = materialService.getFileNameByMaterialId(4L, author);
+
+            assertEquals("https://s3/arquivo.pdf", result.getUrl());
+            verify(downloadTracker).record(4L, author.getId());
+        }
+    
+        @Test
+        @DisplayName("Deve recusar o download enquanto o arquivo não foi enviado ao S3")
+        void getFileNameByMaterialId_shouldRejectPendingMaterial() {
+            Material material = material(4L);
+            material.setStatus(MaterialStatus.PENDING);
+            when(materialRepository.findById(4L)).thenReturn(Optional.of(material));
+
+            assertThrows(MaterialNotReadyException.class, () -> materialService.getFileNameByMaterialId(4L, author));
+            verifyNoInteractions(s3Service, downloadTracker);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método uploadMaterial")
+    class UploadMaterialTests {
+
+        private final MockMultipartFile file = new MockMultipartFile("file", "artigo.pdf", "application/pdf", new byte[2048]);
+        private final Path staged = Path.of("staged.tmp");
+        private MaterialRequestDTO request;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            request = new MaterialRequestDTO();
+            request.setTitle("Artigo");
+            request.setType(TypeMaterial.ARTICLE);
+            request.setArea(Area.COMPUTER_SCIENCE);
+            when(uploadPipeline.stage(file)).thenReturn(staged);
+            when(s3Service.generateFileName("artigo.pdf")).thenReturn("1_artigo.pdf");
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        }
+
+        @Test
+        @DisplayName("Deve gravar o material como pendente e delegar o envio ao pipeline")
+        void uploadMaterial_shouldPersistPendingAndSubmitTransfer() throws IOException {
+            when(materialRepository.saveAndFlush(any(Material.class))).thenAnswer(invocation -> {
+                Material saved = invocation.getArgument(0);
+                saved.setId(42L);
+                return saved;
+            });
+
+            MaterialResponseDTO result = materialService.uploadMaterial(request, author, file);
+
+            assertEquals(MaterialStatus.PENDING.name(), result.getStatus());
+            assertEquals("2.0 KB", result.getFileSize());
+            verify(uploadPipeline).submit(42L, "1_artigo.pdf", staged);
+            verify(userStatsService).materialUploaded(author.getId());
+            verify(s3Service, never()).uploadFile(any(Path.class), any());
+        }
+
+        @Test
+        @DisplayName("Deve descartar o arquivo em staging quando a gravação falha")
+        void uploadMaterial_shouldDiscardStagedFileOnFailure() throws IOException {
+            when(materialRepository.saveAndFlush(any(Material.class))).thenThrow(new IllegalStateException("falha"));
+
+            assertThrows(IllegalStateException.class, () -> materialService.uploadMaterial(request, author, file));
+            verify(uploadPipeline).discard(staged);
+            verify(uploadPipeline, never()).submit(any(), any(), any());
+        }
+    }
+}
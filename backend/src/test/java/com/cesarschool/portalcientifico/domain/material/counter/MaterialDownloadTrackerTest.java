@@ -0,0 +1,91 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para MaterialDownloadTracker")
+@SuppressWarnings("unchecked")
+class MaterialDownloadTrackerTest {
+
+    @Mock
+    private MaterialCounterRepository counterRepository;
+
+    @Mock
+    private TrendingTopics trendingTopics;
+
+    private MaterialDownloadTracker downloadTracker;
+
+    @BeforeEach
+    void setUp() {
+        downloadTracker = new MaterialDownloadTracker(counterRepository, trendingTopics, 3);
+    }
+
+    @Test
+    @DisplayName("Deve agregar os downloads por material e gravar o log em lote")
+    void flush_shouldAggregatePerMaterial() {
+        downloadTracker.record(1L, "u1");
+        downloadTracker.record(1L, "u2");
+        downloadTracker.record(2L, "u1");
+
+        downloadTracker.flush();
+
+        ArgumentCaptor<Map<Long, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<List<MaterialDownloadEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(counterRepository).applyDownloads(deltas.capture(), events.capture());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), deltas.getValue());
+        assertEquals(3, events.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar eventos quando o buffer está cheio")
+    void record_shouldDropWhenBufferIsFull() {
+        for (int i = 0; i < 5; i++) {
+            downloadTracker.record(1L, "u" + i);
+        }
+
+        downloadTracker.flush();
+
+        ArgumentCaptor<Map<Long, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(counterRepository).applyDownloads(deltas.capture(), anyList());
+        assertEquals(Map.of(1L, 3L), deltas.getValue());
+    }
+
+    @Test
+    @DisplayName("Deve tentar gravar novamente os eventos de um lote que falhou")
+    void flush_shouldRetryFailedBatch() {
+        downloadTracker.record(1L, "u1");
+        doThrow(new IllegalStateException("falha")).doNothing()
+                .when(counterRepository).applyDownloads(anyMap(), anyList());
+
+        downloadTracker.flush();
+        downloadTracker.record(2L, "u1");
+        downloadTracker.flush();
+
+        ArgumentCaptor<Map<Long, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(counterRepository, times(2)).applyDownloads(deltas.capture(), anyList());
+        assertEquals(Map.of(1L, 1L, 2L, 1L), deltas.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando não há downloads pendentes")
+    void flush_shouldSkipWhenNothingPending() {
+        downloadTracker.flush();
+
+        verifyNoInteractions(counterRepository);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cesarschool.portalcientifico.domain.material.counter;
+
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para MaterialViewCounter")
+class MaterialViewCounterTest {
+
+    @Mock
+    private MaterialCounterRepository counterRepository;
+
+    @Mock
+    private TrendingTopics trendingTopics;
+
+    private MaterialViewCounter viewCounter;
+
+    @BeforeEach
+    void setUp() {
+        viewCounter = new MaterialViewCounter(counterRepository, trendingTopics);
+    }
+
+    @Test
+    @DisplayName("Deve gravar em um único lote as visualizações acumuladas por material")
+    @SuppressWarnings("unchecked")
+    void flush_shouldBatchAccumulatedViews() {
+        viewCounter.increment(1L);
+        viewCounter.increment(1L);
+        viewCounter.increment(2L);
+
+        viewCounter.flush();
+
+        ArgumentCaptor<Map<Long, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(counterRepository).incrementViews(captor.capture());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), captor.getValue());
+        assertEquals(0, viewCounter.pending(1L));
+        verify(trendingTopics).recordViews(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando não há visualizações pendentes")
+    void flush_shouldSkipWhenNothingPending() {
+        viewCounter.flush();
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    @DisplayName("Deve manter as visualizações pendentes quando a gravação falha")
+    void flush_shouldRequeueOnFailure() {
+        viewCounter.increment(1L);
+        viewCounter.increment(1L);
+        doThrow(new IllegalStateException("falha")).when(counterRepository).incrementViews(anyMap());
+
+        viewCounter.flush();
+
+        assertEquals(2, viewCounter.pending(1L));
+        verifyNoInteractions(trendingTopics);
+    }
+}
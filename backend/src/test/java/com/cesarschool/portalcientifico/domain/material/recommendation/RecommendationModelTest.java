@@ -0,0 +1,86 @@
+package com.cesarschool.portalcientifico.domain.material.recommendation;
+
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para RecommendationModel")
+class RecommendationModelTest {
+
+    private RecommendationModel.Builder builder;
+
+    @BeforeEach
+    void setUp() {
+        builder = new RecommendationModel.Builder()
+                .add("ana", 1L, Area.LAW, 1f)
+                .add("ana", 2L, Area.LAW, 1f)
+                .add("bruno", 1L, Area.LAW, 1f)
+                .add("bruno", 2L, Area.LAW, 1f)
+                .add("bruno", 3L, Area.BUSINESS, 1f)
+                .add("carla", 1L, Area.LAW, 1f)
+                .add("carla", 4L, Area.LAW, 0.5f)
+                .add("davi", 3L, Area.BUSINESS, 1f)
+                .add("davi", 5L, Area.BUSINESS, 1f);
+    }
+
+    @Nested
+    @DisplayName("Testes para o método recommend")
+    class RecommendTests {
+
+        @Test
+        @DisplayName("Deve ordenar pela coocorrência ponderada e ignorar materiais já vistos")
+        void recommend_shouldRankByCooccurrence() {
+            RecommendationModel model = builder.build(10, 100);
+
+            assertEquals(List.of(3L, 4L), model.recommend("ana", List.of(), 0f, 10));
+        }
+
+        @Test
+        @DisplayName("Deve manter apenas os melhores candidatos quando o limite é menor")
+        void recommend_shouldKeepOnlyTopCandidates_whenLimitIsSmaller() {
+            RecommendationModel model = builder.build(10, 100);
+
+            assertEquals(List.of(3L), model.recommend("ana", List.of(), 0f, 1));
+            assertEquals(List.of(4L), model.recommend("ana", List.of(Area.LAW), 1f, 1));
+        }
+
+        @Test
+        @DisplayName("Deve priorizar materiais das áreas preferidas")
+        void recommend_shouldBoostPreferredAreas() {
+            RecommendationModel model = builder.build(10, 100);
+
+            assertEquals(List.of(4L, 3L), model.recommend("ana", List.of(Area.LAW), 1f, 2));
+        }
+
+        @Test
+        @DisplayName("Deve limitar os vizinhos guardados por material")
+        void recommend_shouldKeepOnlyTopNeighbors() {
+            assertEquals(List.of(2L, 3L), builder.build(10, 100).recommend("carla", List.of(), 0f, 10));
+            assertEquals(List.of(2L), builder.build(1, 100).recommend("carla", List.of(), 0f, 10));
+        }
+
+        @Test
+        @DisplayName("Deve ignorar na coocorrência usuários com perfis grandes demais")
+        void recommend_shouldSkipHeavyUsersWhenBuilding() {
+            RecommendationModel model = builder.build(10, 2);
+
+            assertEquals(List.of(4L), model.recommend("ana", List.of(), 0f, 10));
+            assertEquals(List.of(2L), model.recommend("carla", List.of(), 0f, 10));
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio para usuários sem interações")
+        void recommend_shouldReturnEmpty_whenUserIsUnknown() {
+            RecommendationModel model = builder.build(10, 100);
+
+            assertTrue(model.recommend("eva", List.of(Area.LAW), 1f, 10).isEmpty());
+            assertTrue(RecommendationModel.EMPTY.recommend("ana", null, 0f, 10).isEmpty());
+        }
+    }
+}
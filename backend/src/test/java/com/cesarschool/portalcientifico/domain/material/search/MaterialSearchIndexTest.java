@@ -0,0 +1,125 @@
+package com.cesarschool.portalcientifico.domain.material.search;
+
+import com.cesarschool.portalcientifico.domain.material.Material;
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.material.dto.TypeMaterial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para MaterialSearchIndex")
+class MaterialSearchIndexTest {
+
+    private MaterialSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MaterialSearchIndex();
+        index.index(material(1L, "Introdução à Computação", "Notas sobre algoritmos", Set.of("programação"), TypeMaterial.NOTES, Area.COMPUTER_SCIENCE));
+        index.index(material(2L, "Direito Constitucional", "Resumo da constituição e dos direitos", Set.of("constituição"), TypeMaterial.NOTES, Area.LAW));
+        index.index(material(3L, "Estruturas de Dados", "Listas, árvores e computação de grafos", Set.of("algoritmos"), TypeMaterial.ARTICLE, Area.COMPUTER_SCIENCE));
+        index.markReady();
+    }
+
+    private static Material material(Long id, String title, String description, Set<String> keywords, TypeMaterial type, Area area) {
+        return Material.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .keywords(keywords)
+                .type(type)
+                .area(area)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Testes para o método search")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Deve ignorar acentos e maiúsculas na consulta")
+        void search_shouldFoldAccentsAndCase() {
+            assertArrayEquals(new long[]{1L, 3L}, index.search("COMPUTACAO", null, null));
+            assertArrayEquals(new long[]{2L}, index.search("constituição", null, null));
+        }
+
+        @Test
+        @DisplayName("Deve ranquear acertos no título acima de acertos na descrição")
+        void search_shouldRankTitleAboveDescription() {
+            long[] result = index.search("computação", null, null);
+
+            assertEquals(1L, result[0], "O material com o termo no título deve vir primeiro.");
+        }
+
+        @Test
+        @DisplayName("Deve exigir todos os termos e tratar o último como prefixo")
+        void search_shouldIntersectTermsAndExpandLastAsPrefix() {
+            assertArrayEquals(new long[]{3L}, index.search("grafos algo", null, null));
+            assertArrayEquals(new long[]{3L, 1L}, index.search("algor", null, null), "Palavra-chave pesa mais que descrição.");
+            assertEquals(0, index.search("grafos direito", null, null).length);
+        }
+
+        @Test
+        @DisplayName("Deve ignorar stopwords da consulta")
+        void search_shouldIgnoreStopwords() {
+            assertArrayEquals(new long[]{3L}, index.search("estruturas de dados", null, null));
+        }
+
+        @Test
+        @DisplayName("Deve filtrar por tipo e área")
+        void search_shouldFilterByTypeAndArea() {
+            assertArrayEquals(new long[]{3L}, index.search("algoritmos", List.of(TypeMaterial.ARTICLE), null));
+            assertArrayEquals(new long[]{1L}, index.search("algoritmos", List.of(TypeMaterial.NOTES), List.of(Area.COMPUTER_SCIENCE)));
+            assertEquals(0, index.search("algoritmos", null, List.of(Area.LAW)).length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de atualização incremental")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Deve remover o material de todas as listas e filtros")
+        void remove_shouldDropMaterialFromIndex() {
+            index.remove(3L);
+
+            assertArrayEquals(new long[]{1L}, index.search("algoritmos", null, null));
+            assertEquals(0, index.search("grafos", null, null).length);
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("Deve substituir os termos ao reindexar um material existente")
+        void index_shouldReplaceExistingMaterial() {
+            index.index(material(2L, "Direito Penal", null, Set.of(), TypeMaterial.NOTES, Area.LAW));
+
+            assertEquals(0, index.search("constitucional", null, null).length);
+            assertArrayEquals(new long[]{2L}, index.search("penal", null, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método suggest")
+    class SuggestTests {
+
+        @Test
+        @DisplayName("Deve sugerir termos pelo prefixo preservando a grafia original")
+        void suggest_shouldReturnSurfaceFormsByFrequency() {
+            List<String> suggestions = index.suggest("comp", 5);
+
+            assertEquals(List.of("computação"), suggestions);
+        }
+
+        @Test
+        @DisplayName("Deve retornar lista vazia para prefixo em branco")
+        void suggest_shouldReturnEmpty_whenPrefixIsBlank() {
+            assertTrue(index.suggest("  ", 5).isEmpty());
+        }
+    }
+}
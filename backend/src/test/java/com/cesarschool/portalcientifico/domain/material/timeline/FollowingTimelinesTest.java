@@ -0,0 +1,176 @@
+package com.cesarschool.portalcientifico.domain.material.timeline;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import com.cesarschool.portalcientifico.domain.user.follow.FollowEdge;
+import com.cesarschool.portalcientifico.domain.user.follow.FollowGraph;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para FollowingTimelines")
+class FollowingTimelinesTest {
+
+    private static final int CAPACITY = 3;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    private FollowGraph followGraph;
+    private FollowingTimelines timelines;
+
+    @BeforeEach
+    void setUp() {
+        followGraph = new FollowGraph();
+        followGraph.load(List.of(
+                new FollowEdge("ana", "bruno"),
+                new FollowEdge("ana", "carla"),
+                new FollowEdge("davi", "carla"),
+                new FollowEdge("eva", "carla")
+        ));
+        timelines = new FollowingTimelines(materialRepository, followGraph, new SimpleMeterRegistry(), CAPACITY, 2, 100);
+    }
+
+    @Nested
+    @DisplayName("Testes para a leitura do timeline")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Deve reconstruir o timeline do banco apenas na primeira leitura")
+        void idsBefore_shouldHydrateOnce() {
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY)))
+                    .thenReturn(List.of(20L, 10L));
+            when(materialRepository.findIdsByUserIdInBefore(List.of("carla"), Long.MAX_VALUE, Limit.of(5)))
+                    .thenReturn(List.of(15L));
+
+            assertEquals(List.of(20L, 15L, 10L), timelines.idsBefore("ana", Long.MAX_VALUE, 5));
+
+            when(materialRepository.findIdsByUserIdInBefore(List.of("carla"), 20L, Limit.of(5))).thenReturn(List.of(15L));
+            assertEquals(List.of(15L, 10L), timelines.idsBefore("ana", 20L, 5));
+            verify(materialRepository, times(1)).findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY));
+        }
+
+        @Test
+        @DisplayName("Deve completar no banco a partir do item mais antigo quando o timeline foi truncado")
+        void idsBefore_shouldFallBackToDatabase_whenTimelineIsTruncated() {
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY)))
+                    .thenReturn(List.of(30L, 20L, 10L));
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), 10L, Limit.of(2)))
+                    .thenReturn(List.of(5L, 4L));
+            when(materialRepository.findIdsByUserIdInBefore(eq(List.of("carla")), anyLong(), any())).thenReturn(List.of());
+
+            assertEquals(List.of(10L, 5L, 4L), timelines.idsBefore("ana", 11L, 3));
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio para quem não segue ninguém")
+        void idsBefore_shouldReturnEmpty_whenUserFollowsNobody() {
+            assertTrue(timelines.idsBefore("zeca", Long.MAX_VALUE, 10).isEmpty());
+            verifyNoInteractions(materialRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para a distribuição de materiais")
+    class PublishTests {
+
+        @Test
+        @DisplayName("Deve empurrar o material apenas para timelines já carregados")
+        void publish_shouldPushIntoLoadedTimelines() {
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY)))
+                    .thenReturn(List.of(10L));
+            when(materialRepository.findIdsByUserIdInBefore(eq(List.of("carla")), anyLong(), any())).thenReturn(List.of());
+            timelines.idsBefore("ana", Long.MAX_VALUE, 5);
+
+            timelines.publish(11L, "bruno");
+            timelines.publish(11L, "bruno");
+
+            assertEquals(List.of(11L, 10L), timelines.idsBefore("ana", Long.MAX_VALUE, 5));
+        }
+
+        @Test
+        @DisplayName("Não deve fazer fan-out de autores com muitos seguidores")
+        void publish_shouldSkipAuthorsAboveThreshold() {
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY)))
+                    .thenReturn(List.of());
+            when(materialRepository.findIdsByUserIdInBefore(List.of("carla"), Long.MAX_VALUE, Limit.of(5)))
+                    .thenReturn(List.of());
+            timelines.idsBefore("ana", Long.MAX_VALUE, 5);
+
+            timelines.publish(12L, "carla");
+
+            when(materialRepository.findIdsByUserIdInBefore(List.of("carla"), Long.MAX_VALUE, Limit.of(5)))
+                    .thenReturn(List.of(12L));
+            assertEquals(List.of(12L), timelines.idsBefore("ana", Long.MAX_VALUE, 5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para a remoção de materiais excluídos")
+    class RemoveTests {
+
+        @Test
+        @DisplayName("Deve retirar o material dos timelines já carregados dos seguidores")
+        void remove_shouldDropMaterialFromLoadedTimelines() {
+            when(materialRepository.findIdsByUserIdInBefore(List.of("bruno"), Long.MAX_VALUE, Limit.of(CAPACITY)))
+                    .thenReturn(List.of(10L, 8L));
+            when(materialRepository.findIdsByUserIdInBefore(eq(List.of("carla")), anyLong(), any())).thenReturn(List.of());
+            timelines.idsBefore("ana", Long.MAX_VALUE, 5);
+
+            timelines.remove(10L, "bruno");
+
+            assertEquals(List.of(8L), timelines.idsBefore("ana", Long.MAX_VALUE, 5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o buffer circular")
+    class TimelineTests {
+
+        @Test
+        @DisplayName("Deve sobrescrever o item mais antigo e marcar o timeline como truncado")
+        void push_shouldOverwriteOldestWhenFull() {
+            Timeline timeline = new Timeline(2);
+            timeline.push(1L);
+            timeline.push(2L);
+            assertFalse(timeline.isTruncated());
+
+            timeline.push(3L);
+
+            assertArrayEquals(new long[]{3L, 2L}, timeline.before(Long.MAX_VALUE, 10));
+            assertTrue(timeline.isTruncated());
+            assertEquals(2L, timeline.oldest());
+        }
+
+        @Test
+        @DisplayName("Deve remover um item preservando a ordem mesmo após dar a volta no buffer")
+        void remove_shouldKeepOrderAcrossWrapAround() {
+            Timeline timeline = new Timeline(3);
+            timeline.push(1L);
+            timeline.push(2L);
+            timeline.push(3L);
+            timeline.push(4L);
+
+            timeline.remove(3L);
+            timeline.remove(99L);
+
+            assertArrayEquals(new long[]{4L, 2L}, timeline.before(Long.MAX_VALUE, 10));
+            timeline.push(5L);
+            assertArrayEquals(new long[]{5L, 4L, 2L}, timeline.before(Long.MAX_VALUE, 10));
+        }
+    }
+}
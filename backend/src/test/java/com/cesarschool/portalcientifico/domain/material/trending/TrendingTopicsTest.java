@@ -0,0 +1,171 @@
+package com.cesarschool.portalcientifico.domain.material.trending;
+
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para TrendingTopics")
+class TrendingTopicsTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private TrendingTopics trending;
+
+    @BeforeEach
+    void setUp() {
+        trending = new TrendingTopics(materialRepository, 3, HALF_LIFE, 5, 1, 3, now::get);
+    }
+
+    private LocalDateTime createdNow() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(now.get()), ZoneId.systemDefault());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+
+    @Nested
+    @DisplayName("Testes para o ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Deve ordenar pelo peso acumulado, sem diferenciar maiúsculas")
+        void top_shouldRankByAccumulatedWeight() {
+            trending.recordUpload(Set.of("IA"));
+            trending.recordUpload(Set.of("ia", "Direito"));
+            trending.recordUpload(Set.of("Saúde"));
+            trending.recordUpload(Set.of("saúde"));
+            trending.recordUpload(Set.of("saúde"));
+
+            assertEquals(List.of("Saúde", "IA", "Direito"), trending.top(10));
+            assertEquals(List.of("Saúde"), trending.top(1));
+        }
+
+        @Test
+        @DisplayName("Deve fazer eventos recentes superarem eventos antigos mais numerosos")
+        void top_shouldDecayOldEvents() {
+            trending.recordUpload(Set.of("antigo"));
+            trending.recordUpload(Set.of("antigo"));
+            trending.recordUpload(Set.of("antigo"));
+            advance(HALF_LIFE.multipliedBy(2));
+
+            trending.recordUpload(Set.of("novo"));
+            trending.recordUpload(Set.of("novo"));
+
+            assertEquals(List.of("novo", "antigo"), trending.top(10));
+        }
+
+        @Test
+        @DisplayName("Deve manter o ranking ao reescalar os pesos depois de muito tempo")
+        void top_shouldSurviveRescaling() {
+            trending.recordUpload(Set.of("a"));
+            advance(HALF_LIFE.multipliedBy(100));
+            trending.recordUpload(Set.of("b"));
+            trending.recordUpload(Set.of("b"));
+            trending.recordUpload(Set.of("c"));
+
+            assertEquals(List.of("b", "c", "a"), trending.top(10));
+        }
+
+        @Test
+        @DisplayName("Deve substituir o contador de menor peso quando a estrutura está cheia")
+        void add_shouldEvictMinimumWhenFull() {
+            trending.recordUpload(Set.of("a"));
+            trending.recordUpload(Set.of("a"));
+            trending.recordUpload(Set.of("b"));
+            trending.recordUpload(Set.of("b"));
+            trending.recordUpload(Set.of("c"));
+
+            trending.recordUpload(Set.of("d"));
+
+            List<String> top = trending.top(10);
+            assertEquals(3, top.size());
+            assertFalse(top.contains("c"));
+            assertTrue(top.contains("d"));
+        }
+
+        @Test
+        @DisplayName("Deve retirar o peso do upload quando o material é excluído")
+        void recordDelete_shouldSubtractUploadWeight() {
+            trending.recordUpload(Set.of("a"));
+            trending.recordUpload(Set.of("b"));
+            trending.recordUpload(Set.of("b"));
+
+            trending.recordDelete(Set.of("a", "desconhecida"), createdNow());
+
+            assertEquals(List.of("b"), trending.top(10));
+        }
+
+        @Test
+        @DisplayName("Deve retirar apenas o peso do upload quando o material é excluído horas depois")
+        void recordDelete_shouldSubtractAtUploadTime() {
+            LocalDateTime createdAt = createdNow();
+            trending.recordUpload(Set.of("a"));
+            advance(Duration.ofHours(2));
+            trending.recordUpload(Set.of("b"));
+            trending.add("a", 1, now.get());
+
+            trending.recordDelete(Set.of("a"), createdAt);
+
+            assertEquals(List.of("b", "a"), trending.top(10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para visualizações, downloads e carga inicial")
+    class ActivityTests {
+
+        @Test
+        @DisplayName("Deve pesar as visualizações pelas palavras-chave de cada material")
+        void recordViews_shouldWeightKeywordsByDelta() {
+            LocalDateTime createdAt = LocalDateTime.now();
+            when(materialRepository.findKeywordsByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                    new MaterialKeyword(1L, "a", createdAt),
+                    new MaterialKeyword(2L, "b", createdAt)));
+
+            trending.recordViews(Map.of(1L, 2L, 2L, 9L));
+
+            assertEquals(List.of("b", "a"), trending.top(10));
+        }
+
+        @Test
+        @DisplayName("Não deve propagar falhas do banco para o fluxo dos contadores")
+        void recordDownloads_shouldSwallowRepositoryFailures() {
+            when(materialRepository.findKeywordsByIdIn(any())).thenThrow(new IllegalStateException("falha"));
+
+            assertDoesNotThrow(() -> trending.recordDownloads(Map.of(1L, 1L)));
+            assertTrue(trending.top(10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve ignorar lotes vazios sem consultar o banco")
+        void recordViews_shouldSkipEmptyBatches() {
+            trending.recordViews(Map.of());
+
+            verifyNoInteractions(materialRepository);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.cesarschool.portalcientifico.domain.material.upload;
+
+import com.cesarschool.portalcientifico.domain.material.Material;
+import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
+import com.cesarschool.portalcientifico.domain.material.MaterialStatus;
+import com.cesarschool.portalcientifico.domain.material.search.MaterialSearchIndex;
+import com.cesarschool.portalcientifico.domain.material.timeline.FollowingTimelines;
+import com.cesarschool.portalcientifico.domain.material.trending.TrendingTopics;
+import com.cesarschool.portalcientifico.domain.s3.S3Service;
+import com.cesarschool.portalcientifico.domain.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para MaterialUploadPipeline")
+class MaterialUploadPipelineTest {
+
+    private static final long TIMEOUT_MS = 2000;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private MaterialSearchIndex searchIndex;
+
+    @Mock
+    private FollowingTimelines followingTimelines;
+
+    @Mock
+    private TrendingTopics trendingTopics;
+
+    @TempDir
+    private Path stagingDir;
+
+    private MaterialUploadPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pipeline = new MaterialUploadPipeline(materialRepository, s3Service, searchIndex, followingTimelines, trendingTopics, stagingDir,
+                2, 3, Duration.ZERO, Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    private Path stage() throws IOException {
+        return pipeline.stage(new MockMultipartFile("file", "artigo.pdf", "application/pdf", new byte[128]));
+    }
+
+    @Nested
+    @DisplayName("Testes para o método submit")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Deve enviar o arquivo, marcar o material como pronto, indexá-lo e distribuí-lo aos seguidores")
+        void submit_shouldMarkReadyAfterTransfer() throws IOException {
+            User author = new User();
+            author.setId("123e4567-e89b-12d3-a456-426614174000");
+            Material material = Material.builder().id(1L).user(author).build();
+            when(materialRepository.updateStatus(1L, MaterialStatus.READY)).thenReturn(1);
+            when(materialRepository.findAllWithKeywordsByIdIn(List.of(1L))).thenReturn(List.of(material));
+
+            pipeline.submit(1L, "1_artigo.pdf", stage());
+
+            verify(searchIndex, timeout(TIMEOUT_MS)).index(material);
+            verify(followingTimelines, timeout(TIMEOUT_MS)).publish(1L, author.getId());
+            verify(trendingTopics, timeout(TIMEOUT_MS)).recordUpload(material.getKeywords());
+            verify(s3Service).uploadFile(stagingDir.resolve("1.upload"), "1_artigo.pdf");
+            verify(materialRepository, timeout(TIMEOUT_MS)).updateStatus(1L, MaterialStatus.READY);
+            assertStagingDirEventuallyEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve tentar novamente e concluir quando uma tentativa posterior funciona")
+        void submit_shouldRetryTransientFailures() throws IOException {
+            doThrow(new IOException("timeout")).doNothing().when(s3Service).uploadFile(any(Path.class), eq("2_artigo.pdf"));
+
+            pipeline.submit(2L, "2_artigo.pdf", stage());
+
+            verify(materialRepository, timeout(TIMEOUT_MS)).updateStatus(2L, MaterialStatus.READY);
+            verify(s3Service, times(2)).uploadFile(any(Path.class), eq("2_artigo.pdf"));
+        }
+
+        @Test
+        @DisplayName("Deve marcar o material como falho depois de esgotar as tentativas")
+        void submit_shouldMarkFailedAfterMaxAttempts() throws IOException {
+            doThrow(new IOException("timeout")).when(s3Service).uploadFile(any(Path.class), eq("3_artigo.pdf"));
+
+            pipeline.submit(3L, "3_artigo.pdf", stage());
+
+            verify(materialRepository, timeout(TIMEOUT_MS)).updateStatus(3L, MaterialStatus.FAILED);
+            verify(s3Service, times(3)).uploadFile(any(Path.class), eq("3_artigo.pdf"));
+            verifyNoInteractions(searchIndex);
+            assertStagingDirEventuallyEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método cleanupOrphans")
+    class CleanupOrphansTests {
+
+        @Test
+        @DisplayName("Deve retomar o envio de materiais pendentes que ainda têm arquivo em staging")
+        void cleanupOrphans_shouldResumePendingWithStagedFile() throws IOException {
+            Files.write(stagingDir.resolve("5.upload"), new byte[16]);
+            when(materialRepository.findIdsByStatusAndCreatedAtBefore(eq(MaterialStatus.PENDING), any()))
+                    .thenReturn(List.of(5L));
+            when(materialRepository.findById(5L))
+                    .thenReturn(Optional.of(Material.builder().id(5L).fileName("5_artigo.pdf").build()));
+
+            pipeline.cleanupOrphans();
+
+            verify(materialRepository, timeout(TIMEOUT_MS)).updateStatus(5L, MaterialStatus.READY);
+            verify(s3Service).uploadFile(stagingDir.resolve("5.upload"), "5_artigo.pdf");
+        }
+
+        @Test
+        @DisplayName("Deve marcar como falhos os materiais pendentes sem arquivo em staging")
+        void cleanupOrphans_shouldFailPendingWithoutFile() {
+            when(materialRepository.findIdsByStatusAndCreatedAtBefore(eq(MaterialStatus.PENDING), any()))
+                    .thenReturn(List.of(6L));
+
+            pipeline.cleanupOrphans();
+
+            verify(materialRepository).updateStatus(6L, MaterialStatus.FAILED);
+            verifyNoInteractions(s3Service);
+        }
+
+        @Test
+        @DisplayName("Deve remover arquivos de staging antigos que não pertencem a nenhum envio")
+        void cleanupOrphans_shouldDeleteStaleFiles() throws IOException {
+            Path stale = Files.write(stagingDir.resolve("incoming-abc.tmp"), new byte[16]);
+            Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+            Path recent = Files.write(stagingDir.resolve("incoming-def.tmp"), new byte[16]);
+            when(materialRepository.findIdsByStatusAndCreatedAtBefore(eq(MaterialStatus.PENDING), any()))
+                    .thenReturn(List.of());
+
+            pipeline.cleanupOrphans();
+
+            assertFalse(Files.exists(stale));
+            assertTrue(Files.exists(recent));
+        }
+    }
+
+    private void assertStagingDirEventuallyEmpty() throws IOException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            try (var files = Files.list(stagingDir)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        fail("O arquivo em staging deveria ter sido removido");
+    }
+}
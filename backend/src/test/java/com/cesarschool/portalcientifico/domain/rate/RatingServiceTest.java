@@ -1,18 +1,19 @@
 package com.cesarschool.portalcientifico.domain.rate;
 
-import com.cesarschool.portalcientifico.domain.material.Material;
 import com.cesarschool.portalcientifico.domain.material.MaterialRepository;
 import com.cesarschool.portalcientifico.domain.rate.dto.RatingRequestDTO;
 import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.stats.UserStatsService;
 import com.cesarschool.portalcientifico.exception.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +25,12 @@ public class RatingServiceTest {
     @Mock
     private MaterialRepository materialRepository;
 
+    @Mock
+    private MaterialRatingStatsRepository ratingStatsRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -33,58 +40,64 @@ public class RatingServiceTest {
         User user = new User();
         RatingRequestDTO request = new RatingRequestDTO(5);
 
-        when(materialRepository.findById(materialId)).thenReturn(Optional.empty());
+        when(materialRepository.existsById(materialId)).thenReturn(false);
 
         assertThatThrownBy(() -> ratingService.saveRating(materialId, user, request))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Material não encontrado para o id 1");
 
-        verify(materialRepository, times(1)).findById(materialId);
-        verifyNoInteractions(ratingRepository);
+        verify(materialRepository, times(1)).existsById(materialId);
+        verifyNoInteractions(ratingRepository, ratingStatsRepository);
     }
 
     @Test
-    void givenValidMaterialAndRating_whenSaveRating_thenSaveRatingAndUpdateMaterial() {
+    void givenFirstRatingFromUser_whenSaveRating_thenIncrementSumCountAndStar() {
         Long materialId = 1L;
-        User user = new User();
+        User user = userWithId();
         RatingRequestDTO request = new RatingRequestDTO(4);
-        Material material = new Material();
-        material.setTotalRatings(2L);
-        material.setAverageRating(3.0);
 
-        when(materialRepository.findById(materialId)).thenReturn(Optional.of(material));
+        when(materialRepository.existsById(materialId)).thenReturn(true);
+        when(ratingRepository.insertIfAbsent(materialId, user.getId(), 4)).thenReturn(1);
 
         ratingService.saveRating(materialId, user, request);
 
-        ArgumentCaptor<Rating> ratingCaptor = ArgumentCaptor.forClass(Rating.class);
-        verify(ratingRepository).save(ratingCaptor.capture());
+        verify(ratingStatsRepository).applyDelta(materialId, 4, 1, 0, 0, 0, 1, 0);
+        verify(userStatsService).materialRated(materialId, 4, 1);
+        verify(ratingRepository, never()).findValueForUpdate(any(), any());
+        verify(materialRepository, never()).save(any());
+    }
 
-        Rating savedRating = ratingCaptor.getValue();
-        assertThat(savedRating.getMaterialId()).isEqualTo(materialId);
-        assertThat(savedRating.getUser()).isEqualTo(user);
-        assertThat(savedRating.getValue()).isEqualTo(4);
+    @Test
+    void givenExistingRatingFromUser_whenSaveRating_thenReplacePreviousValue() {
+        Long materialId = 1L;
+        User user = userWithId();
+        RatingRequestDTO request = new RatingRequestDTO(4);
+
+        when(materialRepository.existsById(materialId)).thenReturn(true);
+        when(ratingRepository.insertIfAbsent(materialId, user.getId(), 4)).thenReturn(0);
+        when(ratingRepository.findValueForUpdate(materialId, user.getId())).thenReturn(Optional.of(2));
 
-        assertThat(material.getTotalRatings()).isEqualTo(3);
-        assertThat(material.getAverageRating()).isEqualTo((double) (3 * 2 + 4) / 3);
+        ratingService.saveRating(materialId, user, request);
 
-        verify(materialRepository).save(material);
+        verify(ratingRepository).updateValue(materialId, user.getId(), 4);
+        verify(ratingStatsRepository).applyDelta(materialId, 2, 0, 0, -1, 0, 1, 0);
+        verify(userStatsService).materialRated(materialId, 2, 0);
     }
 
     @Test
-    void givenMaterialWithNoRatings_whenSaveRating_thenAverageEqualsFirstRating() {
+    void givenSameRatingAsBefore_whenSaveRating_thenKeepAggregateUntouched() {
         Long materialId = 1L;
-        User user = new User();
+        User user = userWithId();
         RatingRequestDTO request = new RatingRequestDTO(5);
-        Material material = new Material();
-        material.setTotalRatings(0L);
-        material.setAverageRating(0.0);
 
-        when(materialRepository.findById(materialId)).thenReturn(Optional.of(material));
+        when(materialRepository.existsById(materialId)).thenReturn(true);
+        when(ratingRepository.insertIfAbsent(materialId, user.getId(), 5)).thenReturn(0);
+        when(ratingRepository.findValueForUpdate(materialId, user.getId())).thenReturn(Optional.of(5));
 
         ratingService.saveRating(materialId, user, request);
 
-        assertThat(material.getTotalRatings()).isEqualTo(1);
-        assertThat(material.getAverageRating()).isEqualTo(5.0);
+        verify(ratingRepository, never()).updateValue(any(), any(), anyInt());
+        verifyNoInteractions(ratingStatsRepository);
     }
 
     @Test
@@ -111,4 +124,10 @@ public class RatingServiceTest {
 
         assertThat(result).isFalse();
     }
+
+    private static User userWithId() {
+        User user = new User();
+        user.setId("123e4567-e89b-12d3-a456-426614174000");
+        return user;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.cesarschool.portalcientifico.domain.s3;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+/**
+ * S3 em memória com o subconjunto de operações usado pelo {@link S3Service}, para testar uploads
+ * sem rede. Registra o maior número de partes enviadas ao mesmo tempo.
+ */
+class FakeS3Client implements S3Client {
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Set<String> abortedUploads = ConcurrentHashMap.newKeySet();
+    final AtomicInteger maxPartsInFlight = new AtomicInteger();
+    final AtomicInteger partsAttempted = new AtomicInteger();
+
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private volatile IntPredicate failingPart = partNumber -> false;
+
+    void failPart(int partNumber) {
+        failingPart = number -> number == partNumber;
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        objects.put(request.key(), read(body));
+        return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+        partsAttempted.incrementAndGet();
+        int current = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(5);
+            if (failingPart.test(request.partNumber())) {
+                throw S3Exception.builder().message("falha na parte " + request.partNumber()).build();
+            }
+            uploads.get(request.uploadId()).put(request.partNumber(), read(body));
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Map<Integer, byte[]> parts = new TreeMap<>(uploads.remove(request.uploadId()));
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            content.writeBytes(parts.get(part.partNumber()));
+        }
+        objects.put(request.key(), content.toByteArray());
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        abortedUploads.add(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.cesarschool.portalcientifico.domain.s3;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Testes para S3Service")
+class S3ServiceTest {
+
+    private S3Presigner presigner;
+    private SimpleMeterRegistry meterRegistry;
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("teste", "teste")))
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+        s3Service = new S3Service(mock(S3Client.class), presigner, meterRegistry,
+                DataSize.ofMegabytes(16), DataSize.ofMegabytes(8), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+    }
+
+    @Nested
+    @DisplayName("Testes para o método generatePresignedUrl")
+    class GeneratePresignedUrlTests {
+
+        @Test
+        @DisplayName("Deve reutilizar a URL assinada para a mesma chave")
+        void generatePresignedUrl_shouldCacheByKey() {
+            String first = s3Service.generatePresignedUrl("arquivo.pdf");
+            String second = s3Service.generatePresignedUrl("arquivo.pdf");
+
+            assertSame(first, second);
+            assertTrue(first.contains("arquivo.pdf"));
+            assertEquals(1, meterRegistry.get("s3.presign").timer().count());
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        }
+
+        @Test
+        @DisplayName("Deve assinar separadamente chaves diferentes")
+        void generatePresignedUrl_shouldSignEachKey() {
+            String first = s3Service.generatePresignedUrl("a.pdf");
+            String second = s3Service.generatePresignedUrl("b.pdf");
+
+            assertNotEquals(first, second);
+            assertEquals(2, meterRegistry.get("s3.presign").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para o método uploadFile")
+    class UploadFileTests {
+
+        private FakeS3Client s3Client;
+        private S3Service uploader;
+
+        @BeforeEach
+        void setUp() {
+            s3Client = new FakeS3Client();
+            uploader = new S3Service(s3Client, presigner, meterRegistry,
+                    DataSize.ofKilobytes(4), DataSize.ofKilobytes(1), 2);
+        }
+
+        @Test
+        @DisplayName("Deve enviar arquivos pequenos em uma única requisição")
+        void uploadFile_shouldPutSmallFiles() throws IOException {
+            byte[] content = randomBytes(3 * 1024);
+
+            String fileName = uploader.uploadFile(file(content), "u1");
+
+            assertTrue(fileName.startsWith("u1_"));
+            assertArrayEquals(content, s3Client.objects.get(fileName));
+            assertEquals(0, s3Client.maxPartsInFlight.get());
+        }
+
+        @Test
+        @DisplayName("Deve enviar arquivos grandes em partes paralelas limitadas, sem ler o arquivo inteiro")
+        void uploadFile_shouldUploadLargeFilesInBoundedParts() throws IOException {
+            byte[] content = randomBytes(10 * 1024 + 17);
+
+            String fileName = uploader.uploadFile(file(content));
+
+            assertArrayEquals(content, s3Client.objects.get(fileName));
+            assertTrue(s3Client.maxPartsInFlight.get() <= 2);
+        }
+
+        @Test
+        @DisplayName("Deve abortar o upload multipart quando uma parte falha")
+        void uploadFile_shouldAbortWhenPartFails() {
+            s3Client.failPart(3);
+
+            assertThrows(RuntimeException.class, () -> uploader.uploadFile(file(randomBytes(8 * 1024))));
+            assertEquals(1, s3Client.abortedUploads.size());
+            assertTrue(s3Client.objects.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve parar de enviar partes depois que uma delas falha")
+        void uploadFile_shouldStopSubmittingPartsAfterFailure() {
+            s3Client.failPart(1);
+
+            assertThrows(RuntimeException.class, () -> uploader.uploadFile(file(randomBytes(32 * 1024))));
+            assertTrue(s3Client.partsAttempted.get() <= 4,
+                    "Partes enviadas após a falha: " + s3Client.partsAttempted.get());
+        }
+
+        @Test
+        @DisplayName("Deve abortar e preservar a interrupção da thread")
+        void uploadFile_shouldRestoreInterruptFlag() throws IOException {
+            Path path = Files.createTempFile("upload-", ".tmp");
+            try {
+                Files.write(path, randomBytes(8 * 1024));
+                Thread.currentThread().interrupt();
+
+                assertThrows(RuntimeException.class, () -> uploader.uploadFile(path, "interrompido.pdf"));
+                assertTrue(Thread.interrupted(), "A flag de interrupção deve ser restaurada");
+                assertEquals(1, s3Client.abortedUploads.size());
+            } finally {
+                Thread.interrupted();
+                Files.deleteIfExists(path);
+            }
+        }
+
+        private MockMultipartFile file(byte[] content) {
+            return new MockMultipartFile("file", "artigo.pdf", "application/pdf", content) {
+                @Override
+                public byte[] getBytes() {
+                    throw new AssertionError("O upload não deve carregar o arquivo inteiro na memória");
+                }
+            };
+        }
+
+        private byte[] randomBytes(int size) {
+            byte[] bytes = new byte[size];
+            new Random(size).nextBytes(bytes);
+            return bytes;
+        }
+    }
+}
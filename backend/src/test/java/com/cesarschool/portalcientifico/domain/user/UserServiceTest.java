@@ -0,0 +1,103 @@
+package com.cesarschool.portalcientifico.domain.user;
+
+import com.cesarschool.portalcientifico.domain.user.follow.FollowGraph;
+import com.cesarschool.portalcientifico.domain.user.follow.FollowRepository;
+import com.cesarschool.portalcientifico.domain.user.payload.UserResponseDTO;
+import com.cesarschool.portalcientifico.exception.FollowGraphNotReadyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para UserService")
+class UserServiceTest {
+
+    private static final String USER_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String FOLLOWER_ID = "223e4567-e89b-12d3-a456-426614174000";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    @Spy
+    private UserMapper mapper = Mappers.getMapper(UserMapper.class);
+
+    @InjectMocks
+    private UserService userService;
+
+    private User follower;
+
+    @BeforeEach
+    void setUp() {
+        follower = User.builder().id(FOLLOWER_ID).name("Bruno").email("bruno@x.com").build();
+    }
+
+    @Nested
+    @DisplayName("Testes para as listas de follows com o grafo ainda não carregado")
+    class FollowGraphNotReadyTests {
+
+        @BeforeEach
+        void setUp() {
+            when(followGraph.isReady()).thenReturn(false);
+        }
+
+        @Test
+        @DisplayName("Deve paginar os seguidores pelo banco")
+        void getFollowers_shouldQueryRepository() {
+            when(followRepository.findFollowerIds(USER_ID, PageRequest.of(2, 10))).thenReturn(List.of(FOLLOWER_ID));
+            when(userRepository.findAllById(List.of(FOLLOWER_ID))).thenReturn(List.of(follower));
+
+            List<UserResponseDTO> result = userService.getFollowers(USER_ID, 2, 10);
+
+            assertEquals(1, result.size());
+            assertEquals(FOLLOWER_ID, result.getFirst().getId());
+            verify(followGraph, never()).followers(anyString(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Deve paginar os seguidos pelo banco")
+        void getFollowing_shouldQueryRepository() {
+            when(followRepository.findFollowingIds(USER_ID, PageRequest.of(0, 20))).thenReturn(List.of());
+
+            assertTrue(userService.getFollowing(USER_ID, 0, 20).isEmpty());
+            verify(followRepository).findFollowingIds(USER_ID, PageRequest.of(0, 20));
+        }
+
+        @Test
+        @DisplayName("Deve buscar os follows mútuos pelo banco")
+        void getMutualFollows_shouldQueryRepository() {
+            when(followRepository.findMutualIds(USER_ID)).thenReturn(List.of(FOLLOWER_ID));
+            when(userRepository.findAllById(List.of(FOLLOWER_ID))).thenReturn(List.of(follower));
+
+            assertEquals(1, userService.getMutualFollows(USER_ID).size());
+        }
+
+        @Test
+        @DisplayName("Deve informar indisponibilidade das sugestões")
+        void getFollowSuggestions_shouldThrow() {
+            User user = User.builder().id(USER_ID).build();
+
+            assertThrows(FollowGraphNotReadyException.class, () -> userService.getFollowSuggestions(user, 10));
+            verify(followGraph, never()).suggestions(anyString(), anyInt());
+        }
+    }
+}
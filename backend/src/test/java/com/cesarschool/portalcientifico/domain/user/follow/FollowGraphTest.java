@@ -0,0 +1,144 @@
+package com.cesarschool.portalcientifico.domain.user.follow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para FollowGraph")
+class FollowGraphTest {
+
+    private FollowGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FollowGraph();
+        graph.load(List.of(
+                new FollowEdge("ana", "bruno"),
+                new FollowEdge("bruno", "ana"),
+                new FollowEdge("ana", "carla"),
+                new FollowEdge("bruno", "davi"),
+                new FollowEdge("carla", "davi"),
+                new FollowEdge("carla", "eva"),
+                new FollowEdge("ana", "bruno")
+        ));
+    }
+
+    @Nested
+    @DisplayName("Testes para a carga e as consultas diretas")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Deve responder follows nas duas direções e descartar arestas duplicadas")
+        void load_shouldBuildBothDirections() {
+            assertTrue(graph.isReady());
+            assertTrue(graph.follows("ana", "carla"));
+            assertFalse(graph.follows("carla", "ana"));
+            assertEquals(2, graph.followingCount("ana"));
+            assertEquals(2, graph.followerCount("davi"));
+            assertEquals(List.of("bruno", "carla"), graph.following("ana", 0, 10));
+        }
+
+        @Test
+        @DisplayName("Deve tratar usuários desconhecidos como sem follows")
+        void queries_shouldHandleUnknownUsers() {
+            assertFalse(graph.follows("zeca", "ana"));
+            assertEquals(0, graph.followerCount("zeca"));
+            assertTrue(graph.followers("zeca", 0, 10).isEmpty());
+            assertTrue(graph.suggestions("zeca", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve paginar a lista de seguidores")
+        void followers_shouldPaginate() {
+            assertEquals(List.of("bruno"), graph.followers("davi", 0, 1));
+            assertEquals(List.of("carla"), graph.followers("davi", 1, 1));
+            assertTrue(graph.followers("davi", 2, 1).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve identificar follows mútuos")
+        void mutuals_shouldIntersectBothDirections() {
+            assertTrue(graph.isMutual("ana", "bruno"));
+            assertFalse(graph.isMutual("ana", "carla"));
+            assertEquals(List.of("bruno"), graph.mutuals("ana"));
+        }
+
+        @Test
+        @DisplayName("Deve sugerir quem é seguido por quem o usuário segue, pelo número de caminhos")
+        void suggestions_shouldRankSecondDegreeUsers() {
+            assertEquals(List.of("davi", "eva"), graph.suggestions("ana", 10));
+            assertEquals(List.of("davi"), graph.suggestions("ana", 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para as atualizações incrementais")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Deve incluir novos usuários e remover follows")
+        void addAndRemove_shouldUpdateBothDirections() {
+            graph.add("fabio", "ana");
+            assertTrue(graph.follows("fabio", "ana"));
+            assertEquals(List.of("bruno", "fabio"), graph.followers("ana", 0, 10));
+
+            graph.remove("ana", "bruno");
+            assertFalse(graph.follows("ana", "bruno"));
+            assertTrue(graph.followers("bruno", 0, 10).isEmpty());
+            assertFalse(graph.isMutual("ana", "bruno"));
+        }
+
+        @Test
+        @DisplayName("Deve ignorar follows repetidos e remoções inexistentes")
+        void addAndRemove_shouldBeIdempotent() {
+            graph.add("ana", "carla");
+            graph.remove("eva", "ana");
+
+            assertEquals(2, graph.followingCount("ana"));
+            assertEquals(1, graph.followerCount("carla"));
+        }
+
+        @Test
+        @DisplayName("Deve crescer além da capacidade inicial")
+        void add_shouldGrowCapacity() {
+            for (int i = 0; i < 100; i++) {
+                graph.add("user" + i, "ana");
+            }
+            assertEquals(101, graph.followerCount("ana"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para atualizações recebidas antes da carga")
+    class PendingUpdateTests {
+
+        @Test
+        @DisplayName("Deve reaplicar sobre as arestas carregadas os follows confirmados durante a carga")
+        void load_shouldReplayUpdatesReceivedBeforeLoad() {
+            FollowGraph loading = new FollowGraph();
+            loading.add("fabio", "ana");
+            loading.remove("ana", "bruno");
+            loading.add("ana", "eva");
+            loading.remove("ana", "eva");
+
+            assertFalse(loading.isReady());
+            assertFalse(loading.follows("fabio", "ana"));
+
+            loading.load(List.of(
+                    new FollowEdge("ana", "bruno"),
+                    new FollowEdge("bruno", "ana")
+            ));
+
+            assertTrue(loading.isReady());
+            assertTrue(loading.follows("fabio", "ana"));
+            assertFalse(loading.follows("ana", "bruno"));
+            assertFalse(loading.follows("ana", "eva"));
+            assertEquals(List.of("bruno", "fabio"), loading.followers("ana", 0, 10));
+        }
+    }
+}
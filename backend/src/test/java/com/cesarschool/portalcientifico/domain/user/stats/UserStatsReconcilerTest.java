@@ -0,0 +1,47 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para UserStatsReconciler")
+class UserStatsReconcilerTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @InjectMocks
+    private UserStatsReconciler userStatsReconciler;
+
+    @Nested
+    @DisplayName("Testes para o método backfill")
+    class BackfillTests {
+
+        @Test
+        @DisplayName("Deve preencher user_stats quando o backfill ainda não foi registrado")
+        void backfill_shouldReconcile_whenMarkerIsNew() {
+            when(userStatsRepository.markBackfill()).thenReturn(1);
+
+            userStatsReconciler.backfill();
+
+            verify(userStatsRepository).reconcile();
+        }
+
+        @Test
+        @DisplayName("Não deve recalcular user_stats quando o backfill já foi registrado")
+        void backfill_shouldSkip_whenMarkerAlreadyExists() {
+            when(userStatsRepository.markBackfill()).thenReturn(0);
+
+            userStatsReconciler.backfill();
+
+            verify(userStatsRepository, never()).reconcile();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.cesarschool.portalcientifico.domain.user.stats;
+
+import com.cesarschool.portalcientifico.domain.user.payload.StatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para UserStatsService")
+class UserStatsServiceTest {
+
+    private static final String USER_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String TARGET_ID = "223e4567-e89b-12d3-a456-426614174000";
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    @Nested
+    @DisplayName("Testes para o método getStats")
+    class GetStatsTests {
+
+        @Test
+        @DisplayName("Deve montar o StatsDTO a partir da linha materializada")
+        void getStats_shouldMapMaterializedRow() {
+            UserStats stats = new UserStats(USER_ID, 3, 40, 7, 2, 5, 9, 2);
+            when(userStatsRepository.findById(USER_ID)).thenReturn(Optional.of(stats));
+
+            StatsDTO result = userStatsService.getStats(USER_ID);
+
+            assertEquals(3, result.getTotalUploads());
+            assertEquals(40, result.getTotalDownloads());
+            assertEquals(7, result.getTotalLikes());
+            assertEquals(2, result.getFollowers());
+            assertEquals(5, result.getFollowing());
+            assertEquals(4.5, result.getRating());
+        }
+
+        @Test
+        @DisplayName("Deve retornar estatísticas zeradas quando o usuário ainda não tem linha")
+        void getStats_shouldReturnZeros_whenRowIsMissing() {
+            when(userStatsRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+            StatsDTO result = userStatsService.getStats(USER_ID);
+
+            assertEquals(0, result.getTotalUploads());
+            assertEquals(0, result.getRating());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes para os métodos de registro")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Deve atualizar seguidor e seguido ao seguir um usuário")
+        void followChanged_shouldUpdateBothUsers() {
+            userStatsService.followChanged(USER_ID, TARGET_ID, 1);
+
+            verify(userStatsRepository).applyDelta(USER_ID, 0, 0, 1);
+            verify(userStatsRepository).applyDelta(TARGET_ID, 0, 1, 0);
+        }
+
+        @Test
+        @DisplayName("Deve atualizar as linhas na ordem dos ids, independentemente de quem segue quem")
+        void followChanged_shouldLockRowsInIdOrder() {
+            userStatsService.followChanged(TARGET_ID, USER_ID, 1);
+
+            InOrder inOrder = inOrder(userStatsRepository);
+            inOrder.verify(userStatsRepository).applyDelta(USER_ID, 0, 1, 0);
+            inOrder.verify(userStatsRepository).applyDelta(TARGET_ID, 0, 0, 1);
+        }
+
+        @Test
+        @DisplayName("Deve ignorar deltas nulos de likes e follows")
+        void zeroDeltas_shouldNotTouchRepository() {
+            userStatsService.followChanged(USER_ID, TARGET_ID, 0);
+            userStatsService.materialLiked(10L, 0);
+
+            verifyNoInteractions(userStatsRepository);
+        }
+
+        @Test
+        @DisplayName("Deve aplicar o like ao autor do material")
+        void materialLiked_shouldApplyDeltaToOwner() {
+            userStatsService.materialLiked(10L, -1);
+
+            verify(userStatsRepository).applyDeltaToOwner(10L, -1, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cesarschool.portalcientifico.infra.security;
+
+import com.cesarschool.portalcientifico.domain.material.dto.Area;
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.UserRepository;
+import com.cesarschool.portalcientifico.domain.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes para SecurityFilter")
+class SecurityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenService tokenService;
+    private PrincipalCache principalCache;
+    private SecurityFilter securityFilter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = tokenService(false);
+        principalCache = new PrincipalCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+
+        securityFilter = new SecurityFilter();
+        securityFilter.tokenService = tokenService;
+        securityFilter.userRepository = userRepository;
+        securityFilter.principalCache = principalCache;
+
+        user = User.builder()
+                .id("u1")
+                .name("Ana")
+                .email("ana@x.com")
+                .role(UserRole.USER)
+                .preferredAreas(List.of(Area.LAW))
+                .build();
+    }
+
+    private TokenService tokenService(boolean principalClaims) {
+        return new TokenService(userRepository, "segredo-de-teste", principalClaims, Duration.ofMinutes(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Deve consultar o usuário no banco apenas uma vez para requisições repetidas")
+    void doFilter_shouldCachePrincipal() throws Exception {
+        when(userRepository.findByEmail("ana@x.com")).thenReturn(Optional.of(user));
+        String token = tokenService.generateAccessToken(user);
+
+        filter(token);
+        filter(token);
+
+        verify(userRepository, times(1)).findByEmail("ana@x.com");
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o usuário depois que a entrada é invalidada")
+    void doFilter_shouldReloadAfterInvalidation() throws Exception {
+        when(userRepository.findByEmail("ana@x.com")).thenReturn(Optional.of(user));
+        String token = tokenService.generateAccessToken(user);
+
+        filter(token);
+        principalCache.invalidate("ana@x.com");
+        filter(token);
+
+        verify(userRepository, times(2)).findByEmail("ana@x.com");
+    }
+
+    @Test
+    @DisplayName("Deve montar o principal pelas claims do token sem acessar o banco")
+    void doFilter_shouldBuildPrincipalFromClaims() throws Exception {
+        tokenService = tokenService(true);
+        securityFilter.tokenService = tokenService;
+        String token = tokenService.generateAccessToken(user);
+
+        filter(token);
+
+        User principal = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals("u1", principal.getId());
+        assertEquals("ana@x.com", principal.getEmail());
+        assertEquals(List.of(Area.LAW), principal.getPreferredAreas());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve responder 401 para token inválido")
+    void doFilter_shouldRejectInvalidToken() throws Exception {
+        MockHttpServletResponse response = filter("token-invalido");
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userRepository);
+    }
+}
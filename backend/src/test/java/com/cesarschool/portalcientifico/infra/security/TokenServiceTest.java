@@ -0,0 +1,71 @@
+package com.cesarschool.portalcientifico.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.cesarschool.portalcientifico.domain.user.User;
+import com.cesarschool.portalcientifico.domain.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para TokenService")
+class TokenServiceTest {
+
+    private static final String SECRET = "segredo-de-teste";
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(null, SECRET, false, Duration.ofMinutes(1), 100);
+    }
+
+    @Nested
+    @DisplayName("Testes para o método verify")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("Deve reutilizar a verificação de um token já validado")
+        void verify_shouldReuseVerifiedToken() {
+            String token = tokenService.generateAccessToken(User.builder().email("ana@x.com").role(UserRole.USER).build());
+
+            assertSame(tokenService.verify(token), tokenService.verify(token));
+            assertEquals("ana@x.com", tokenService.validateToken(token));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar um token em cache depois que ele expira")
+        void verify_shouldRejectExpiredCachedToken() throws InterruptedException {
+            String token = JWT.create()
+                    .withIssuer("login-auth-api")
+                    .withSubject("ana@x.com")
+                    .withExpiresAt(Instant.now().plusMillis(1500))
+                    .sign(Algorithm.HMAC256(SECRET));
+            tokenService.verify(token);
+
+            Thread.sleep(1600);
+
+            assertThrows(TokenExpiredException.class, () -> tokenService.verify(token));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar tokens assinados com outro segredo")
+        void verify_shouldRejectForeignSignature() {
+            String token = JWT.create()
+                    .withIssuer("login-auth-api")
+                    .withSubject("ana@x.com")
+                    .sign(Algorithm.HMAC256("outro-segredo"));
+
+            assertThrows(JWTVerificationException.class, () -> tokenService.verify(token));
+            assertThrows(JWTVerificationException.class, () -> tokenService.verify(token));
+        }
+    }
+}
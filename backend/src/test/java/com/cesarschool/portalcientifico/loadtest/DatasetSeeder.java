@@ -0,0 +1,136 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Popula o banco do teste de carga com usuários, materiais, palavras-chave, comentários, likes,
+ * avaliações e follows gerados no próprio Postgres ({@code generate_series}). A popularidade dos
+ * materiais segue uma cauda longa: poucos concentram a maior parte dos likes, comentários e avaliações.
+ * Contadores e agregados derivados não são gravados aqui: o seeder apaga os marcadores de
+ * {@code schema_backfills} para que os backfills do {@code schema.sql} e do {@code UserStatsReconciler},
+ * que já rodaram na subida com o banco vazio, rodem de novo na próxima inicialização sobre a massa nova.
+ * Tudo roda numa única transação, para que uma falha no meio não deixe uma massa parcial marcada como pronta.
+ */
+class DatasetSeeder {
+
+    static final String USER_PREFIX = "lt-";
+    static final String PASSWORD = "senha123";
+
+    private static final String AREAS = "ARRAY['COMPUTER_SCIENCE','ENGINEERING','MEDICINE','BUSINESS','LAW','PSYCHOLOGY','EDUCATION','ARTS','OTHER']";
+    private static final String TYPES = "ARRAY['ARTICLE','IMAGE','TCC','NOTES','PRESENTATION','EXERCISE','OTHER']";
+    private static final String WORDS = """
+            ARRAY['algoritmos','estruturas','dados','grafos','cálculo','diferencial','integral','constituição',
+                  'direito','penal','anatomia','fisiologia','marketing','finanças','psicologia','cognitiva',
+                  'educação','didática','pintura','escultura','redes','compiladores','banco','sistemas',
+                  'probabilidade','estatística','termodinâmica','circuitos','genética','farmacologia']""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    DatasetSeeder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    boolean isSeeded() {
+        Integer users = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE id LIKE ?", Integer.class, USER_PREFIX + "%");
+        return users != null && users > 0;
+    }
+
+    void seed(LoadTestOptions options, String passwordHash) {
+        transactionTemplate.executeWithoutResult(status -> insertAll(options, passwordHash));
+    }
+
+    private void insertAll(LoadTestOptions options, String passwordHash) {
+        int users = options.users();
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, role, created_at)
+                SELECT ? || n, 'Usuário ' || n, 'loadtest' || n || '@example.com', ?, 'USER',
+                       now() - random() * interval '365 days'
+                FROM generate_series(1, ?) n
+                """, USER_PREFIX, passwordHash, users);
+
+        jdbcTemplate.update("""
+                INSERT INTO user_preferred_areas (user_id, area)
+                SELECT ? || n, a[1 + n % 9]
+                FROM generate_series(1, ?) n, (SELECT $AREAS AS a) vocab
+                WHERE n % 2 = 0
+                """.replace("$AREAS", AREAS), USER_PREFIX, users);
+
+        jdbcTemplate.update("""
+                INSERT INTO materials (title, description, type, area, file_name, file_size, file_type, user_id,
+                                       upload_date, created_at, update_at, total_download, total_view, status)
+                SELECT initcap(w[1 + (n * 7) % 30]) || ' ' || w[1 + (n * 13) % 30] || ' ' || w[1 + (n * 17) % 30] || ' ' || n,
+                       'Material de apoio sobre ' || w[1 + (n * 3) % 30] || ', ' || w[1 + (n * 11) % 30]
+                           || ' e ' || w[1 + (n * 19) % 30] || ' com exercícios resolvidos',
+                       t[1 + n % 7], a[1 + (n * 5) % 9], 'loadtest/material-' || n || '.pdf', '1.2 MB', 'application/pdf',
+                       ? || (1 + (n * 31) % ?), c, c, c, floor(power(random(), 3) * 500), floor(power(random(), 3) * 5000),
+                       'READY'
+                FROM generate_series(1, ?) n,
+                     LATERAL (SELECT now() - random() * interval '180 days' + n * interval '0 second' AS c) created,
+                     (SELECT $WORDS AS w, $TYPES AS t, $AREAS AS a) vocab
+                """.replace("$WORDS", WORDS).replace("$TYPES", TYPES).replace("$AREAS", AREAS),
+                USER_PREFIX, users, options.materials());
+
+        jdbcTemplate.update("""
+                INSERT INTO material_keywords (material_id, keywords)
+                SELECT DISTINCT m.id, w[1 + (m.id * k) % 30]
+                FROM materials m, generate_series(1, 3) k, (SELECT $WORDS AS w) vocab
+                WHERE m.user_id LIKE ?
+                """.replace("$WORDS", WORDS), USER_PREFIX + "%");
+
+        jdbcTemplate.update("""
+                INSERT INTO comments (material_id, user_id, content, created_at)
+                SELECT m.id, ? || (1 + floor(random() * ?)::int),
+                       'Ótimo material, ajudou bastante na revisão para a prova. Comentário ' || g,
+                       m.created_at + random() * (now() - m.created_at)
+                FROM materials m
+                CROSS JOIN LATERAL generate_series(1, floor(power(random(), 4) * ? + m.id * 0)::int) g
+                WHERE m.user_id LIKE ?
+                """, USER_PREFIX, users, options.maxCommentsPerMaterial(), USER_PREFIX + "%");
+
+        jdbcTemplate.update("""
+                INSERT INTO likes (user_id, target_type, target_id, created_at)
+                SELECT ? || (1 + floor(random() * ?)::int), 'MATERIAL', m.id, now() - random() * interval '30 days'
+                FROM materials m
+                CROSS JOIN LATERAL generate_series(1, floor(power(random(), 4) * ? + m.id * 0)::int) g
+                WHERE m.user_id LIKE ?
+                ON CONFLICT DO NOTHING
+                """, USER_PREFIX, users, options.maxLikesPerMaterial(), USER_PREFIX + "%");
+
+        jdbcTemplate.update("""
+                INSERT INTO rating (material_id, user_id, value)
+                SELECT DISTINCT ON (m.id, u) m.id, u, 1 + floor(random() * 5)::int
+                FROM materials m
+                CROSS JOIN LATERAL generate_series(1, floor(power(random(), 4) * ? + m.id * 0)::int) g
+                CROSS JOIN LATERAL (SELECT ? || (1 + floor(random() * ? + g * 0)::int) AS u) rater
+                WHERE m.user_id LIKE ?
+                """, options.maxLikesPerMaterial() / 2, USER_PREFIX, users, USER_PREFIX + "%");
+
+        jdbcTemplate.update("""
+                INSERT INTO follow (user_id, target_user_id)
+                SELECT DISTINCT ? || n, ? || (1 + floor(power(random(), 2) * ? + g * 0)::int)
+                FROM generate_series(1, ?) n
+                CROSS JOIN LATERAL generate_series(1, ?) g
+                ON CONFLICT DO NOTHING
+                """, USER_PREFIX, USER_PREFIX, users, users, options.followsPerUser());
+        jdbcTemplate.update("DELETE FROM follow WHERE user_id = target_user_id AND user_id LIKE ?", USER_PREFIX + "%");
+
+        jdbcTemplate.update("DELETE FROM schema_backfills");
+    }
+
+    List<Long> materialIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM materials WHERE status = 'READY' AND user_id LIKE ? ORDER BY id", Long.class, USER_PREFIX + "%");
+    }
+
+    List<Long> popularMaterialIds(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM materials WHERE user_id LIKE ? ORDER BY total_view DESC, id LIMIT ?", Long.class,
+                USER_PREFIX + "%", limit);
+    }
+}
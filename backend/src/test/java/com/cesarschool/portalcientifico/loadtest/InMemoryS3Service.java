@@ -0,0 +1,78 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import com.cesarschool.portalcientifico.config.S3Config;
+import com.cesarschool.portalcientifico.domain.s3.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * S3 em processo para os testes de carga: guarda apenas o tamanho de cada objeto enviado e devolve URLs
+ * pré-assinadas sintéticas. {@code latency} simula o tempo de ida e volta de cada chamada ao S3.
+ * Todos os pontos de entrada públicos que falariam com a AWS são sobrescritos, então o cliente e o
+ * presigner da classe base nunca são usados.
+ */
+public class InMemoryS3Service extends S3Service {
+
+    private static final String BASE_URL = "http://fake-s3.local/" + S3Config.BUCKET_NAME + "/";
+
+    private final Map<String, Long> objects = new ConcurrentHashMap<>();
+    private final Duration latency;
+
+    public InMemoryS3Service(MeterRegistry meterRegistry, Duration latency) {
+        super(null, null, meterRegistry, DataSize.ofMegabytes(16), DataSize.ofMegabytes(8), 4);
+        this.latency = latency;
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file) throws IOException {
+        String fileName = generateFileName(file.getOriginalFilename());
+        store(fileName, file.getSize());
+        return fileName;
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, String userId) throws IOException {
+        String fileName = userId + "_" + generateFileName(file.getOriginalFilename());
+        store(fileName, file.getSize());
+        return fileName;
+    }
+
+    @Override
+    public void uploadFile(Path path, String fileName) throws IOException {
+        store(fileName, Files.size(path));
+    }
+
+    private void store(String fileName, long size) throws IOException {
+        simulateLatency();
+        objects.put(fileName, size);
+    }
+
+    @Override
+    public String generatePresignedUrl(String fileName) {
+        return BASE_URL + fileName + "?X-Amz-Expires=" + S3Config.SIGNATURE_DURATION.toSeconds();
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    private void simulateLatency() throws IOException {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Envio ao S3 simulado interrompido", e);
+        }
+    }
+}
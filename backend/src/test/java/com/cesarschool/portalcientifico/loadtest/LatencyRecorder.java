@@ -0,0 +1,77 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guarda a latência de cada requisição por endpoint e calcula percentis pelo método nearest-rank.
+ * As amostras ficam todas em memória: alguns milhões de {@code long} por cenário, o que cabe no heap.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        samples.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, boolean error) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+        }
+    }
+
+    List<EndpointStats> stats(Duration elapsed) {
+        return samples.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey(), elapsed))
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+    }
+
+    record EndpointStats(String endpoint, int count, int errors, double throughput,
+                         double p50, double p95, double p99, double max) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long value, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(String endpoint, Duration elapsed) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, errors, count / (elapsed.toNanos() / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP dos usuários virtuais. Cada chamada é registrada no {@link LatencyRecorder} sob um rótulo
+ * de endpoint (método e rota com variáveis), e respostas 4xx/5xx ou falhas de rede contam como erro.
+ */
+final class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    LoadClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(java.util.Map.of("email", email, "password", password));
+        HttpResponse<String> response = httpClient.send(request("/v1/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login falhou para " + email + ": HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET().build());
+    }
+
+    JsonNode postJson(String endpoint, String path, String token, Object body) {
+        try {
+            return send(endpoint, request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    JsonNode postMultipart(String endpoint, String path, String token, Object json, String fileName, byte[] file) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 1024);
+        try {
+            body.write(("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"materialRequestDTO\"\r\n"
+                    + "Content-Type: application/json\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(objectMapper.writeValueAsBytes(json));
+            body.write(("\r\n--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                    + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(file);
+            body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return send(endpoint, request(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode() >= 400);
+            byte[] body = response.body();
+            return response.statusCode() < 400 && body.length > 0 ? objectMapper.readTree(body) : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Fornece o {@link InMemoryS3Service} no lugar do {@code S3Service} real, que o
+ * {@link LoadTestExcludeFilter} retira do contexto iniciado pelo {@link LoadTestRunner}. Por ser
+ * {@link TestConfiguration}, não é carregada pelos testes do contexto.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class LoadTestConfiguration {
+
+    @Bean
+    public InMemoryS3Service inMemoryS3Service(MeterRegistry meterRegistry,
+                                               @Value("${loadtest.s3-latency:20ms}") Duration latency) {
+        return new InMemoryS3Service(meterRegistry, latency);
+    }
+}
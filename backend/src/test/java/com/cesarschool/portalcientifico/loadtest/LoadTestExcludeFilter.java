@@ -0,0 +1,34 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import com.cesarschool.portalcientifico.config.S3Config;
+import com.cesarschool.portalcientifico.domain.s3.S3Service;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.util.Set;
+
+/**
+ * Tira do component scan a integração real com a AWS ({@link S3Config} e {@link S3Service}) quando a
+ * aplicação sobe pelo {@link LoadTestRunner}; o {@link InMemoryS3Service} da
+ * {@link LoadTestConfiguration} ocupa o lugar do serviço.
+ */
+class LoadTestExcludeFilter extends TypeExcludeFilter {
+
+    private static final Set<String> EXCLUDED = Set.of(S3Config.class.getName(), S3Service.class.getName());
+
+    @Override
+    public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+        return EXCLUDED.contains(metadataReader.getClassMetadata().getClassName());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other != null && getClass() == other.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos {@code nome=valor} (o prefixo {@code --} é opcional):
+ * <ul>
+ *     <li>{@code database}: banco usado (criado se não existir), padrão {@code portal_loadtest};</li>
+ *     <li>{@code concurrency}: usuários virtuais simultâneos por cenário;</li>
+ *     <li>{@code duration} e {@code warmup}: duração medida e aquecimento de cada cenário;</li>
+ *     <li>{@code scenarios}: cenários executados, em ordem, separados por vírgula;</li>
+ *     <li>{@code users}, {@code materials}, {@code max-likes}, {@code max-comments}, {@code follows}: tamanho da massa;</li>
+ *     <li>{@code s3-latency}: latência simulada de cada envio ao S3;</li>
+ *     <li>{@code report}: arquivo CSV com o resultado.</li>
+ * </ul>
+ */
+record LoadTestOptions(String database, int concurrency, Duration duration, Duration warmup, List<String> scenarios,
+                       int users, int materials, int maxLikesPerMaterial, int maxCommentsPerMaterial,
+                       int followsPerUser, Duration s3Latency, String report) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido, use nome=valor: " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                values.getOrDefault("database", "portal_loadtest"),
+                Integer.parseInt(values.getOrDefault("concurrency", "50")),
+                duration(values.getOrDefault("duration", "30s")),
+                duration(values.getOrDefault("warmup", "5s")),
+                Arrays.asList(values.getOrDefault("scenarios", String.join(",", Scenarios.NAMES)).split(",")),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("materials", "20000")),
+                Integer.parseInt(values.getOrDefault("max-likes", "200")),
+                Integer.parseInt(values.getOrDefault("max-comments", "40")),
+                Integer.parseInt(values.getOrDefault("follows", "20")),
+                duration(values.getOrDefault("s3-latency", "20ms")),
+                values.getOrDefault("report", "target/loadtest-report.csv"));
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+}
@@ -0,0 +1,216 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import com.cesarschool.portalcientifico.PortalcientificoApplication;
+import com.cesarschool.portalcientifico.domain.material.recommendation.MaterialRecommender;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação completa contra um Postgres local (banco separado,
+ * criado e populado na primeira execução) com o S3 substituído pelo {@link InMemoryS3Service}, executa os
+ * {@link Scenarios} com usuários virtuais e imprime p50/p95/p99 e vazão por endpoint.
+ * <p>
+ * Execução: {@code mvn -Ploadtest test -Dloadtest.args="concurrency=100 duration=60s"}. A conexão
+ * usa as mesmas variáveis da aplicação ({@code POSTGRES_HOST}, {@code DB_PORT}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}); para repopular, basta remover o banco.
+ */
+public final class LoadTestRunner {
+
+    private static final int POPULAR_MATERIALS = 200;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("spring.devtools.livereload.enabled", "false");
+        createDatabaseIfMissing(options.database());
+
+        ConfigurableApplicationContext context = start(options);
+        try {
+            if (seedIfEmpty(options, context)) {
+                // Reinicia para que os backfills liberados pelo seeder preencham contadores e agregados
+                // e os índices em memória sejam carregados com a massa nova.
+                context.close();
+                context = start(options);
+            }
+            context.getBean(MaterialRecommender.class).rebuild();
+            run(options, context, seeder(context));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static boolean seedIfEmpty(LoadTestOptions options, ConfigurableApplicationContext context) {
+        DatasetSeeder seeder = seeder(context);
+        if (seeder.isSeeded()) {
+            return false;
+        }
+        System.out.printf("Populando %s: %d usuários, %d materiais...%n",
+                options.database(), options.users(), options.materials());
+        long start = System.nanoTime();
+        seeder.seed(options, context.getBean(PasswordEncoder.class).encode(DatasetSeeder.PASSWORD));
+        System.out.printf("Massa criada em %d s%n", Duration.ofNanos(System.nanoTime() - start).toSeconds());
+        return true;
+    }
+
+    private static DatasetSeeder seeder(ConfigurableApplicationContext context) {
+        return new DatasetSeeder(context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class));
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        return new SpringApplicationBuilder(PortalcientificoApplication.class, LoadTestConfiguration.class)
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton("loadTestExcludeFilter", new LoadTestExcludeFilter()))
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + jdbcUrl(options.database()),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.cesarschool=WARN",
+                        "--loadtest.s3-latency=" + options.s3Latency().toMillis() + "ms");
+    }
+
+    private static void run(LoadTestOptions options, ConfigurableApplicationContext context, DatasetSeeder seeder)
+            throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadClient client = new LoadClient("http://localhost:" + port, recorder);
+
+        List<Scenarios.Session> sessions = new ArrayList<>();
+        for (int n = 1; n <= Math.min(options.concurrency(), options.users()); n++) {
+            String email = "loadtest" + n + "@example.com";
+            sessions.add(new Scenarios.Session(DatasetSeeder.USER_PREFIX + n, client.login(email, DatasetSeeder.PASSWORD)));
+        }
+        Scenarios scenarios = new Scenarios(client, seeder.materialIds(), seeder.popularMaterialIds(POPULAR_MATERIALS),
+                options.users());
+
+        List<String> report = new ArrayList<>();
+        report.add("scenario,endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+        for (String name : options.scenarios()) {
+            Scenarios.Action action = scenarios.get(name);
+            System.out.printf("%nCenário %s: %d usuários virtuais, aquecimento %s, medição %s%n",
+                    name, options.concurrency(), DurationStyle.SIMPLE.print(options.warmup()),
+                    DurationStyle.SIMPLE.print(options.duration()));
+            Duration elapsed = drive(action, sessions, options, recorder);
+            List<LatencyRecorder.EndpointStats> stats = recorder.stats(elapsed);
+            print(stats);
+            for (LatencyRecorder.EndpointStats s : stats) {
+                report.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", name, s.endpoint(),
+                        s.count(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+            }
+        }
+        System.out.printf("%nObjetos no S3 simulado: %d%n", context.getBean(InMemoryS3Service.class).objectCount());
+        writeReport(Path.of(options.report()), report);
+    }
+
+    /**
+     * Mantém {@code concurrency} usuários virtuais (threads virtuais) em laço fechado até o fim do cenário;
+     * só as requisições após o aquecimento entram nas estatísticas.
+     */
+    private static Duration drive(Scenarios.Action action, List<Scenarios.Session> sessions, LoadTestOptions options,
+                                  LatencyRecorder recorder) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        recorder.stop();
+        List<Future<?>> virtualUsers = new ArrayList<>();
+        Duration elapsed;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < options.concurrency(); u++) {
+                Scenarios.Session session = sessions.get(u % sessions.size());
+                virtualUsers.add(users.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        action.run(session, random);
+                    }
+                }));
+            }
+            Thread.sleep(Duration.ofNanos(Math.max(warmupEnd - System.nanoTime(), 0)));
+            recorder.start();
+            long measureStart = System.nanoTime();
+            Thread.sleep(Duration.ofNanos(Math.max(end - System.nanoTime(), 0)));
+            recorder.stop();
+            elapsed = Duration.ofNanos(System.nanoTime() - measureStart);
+        }
+        for (Future<?> virtualUser : virtualUsers) {
+            try {
+                virtualUser.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Usuário virtual interrompido por erro", e.getCause());
+            }
+        }
+        return elapsed;
+    }
+
+    private static void print(List<LatencyRecorder.EndpointStats> stats) {
+        System.out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "reqs", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms");
+        for (LatencyRecorder.EndpointStats s : stats) {
+            System.out.printf(Locale.ROOT, "%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.endpoint(),
+                    s.count(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+        }
+    }
+
+    private static void writeReport(Path path, List<String> lines) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            lines.forEach(writer::println);
+        }
+        System.out.println("Relatório: " + path.toAbsolutePath());
+    }
+
+    private static void createDatabaseIfMissing(String database) throws SQLException {
+        if (!database.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Nome de banco inválido: " + database);
+        }
+        try (Connection connection = DriverManager.getConnection(jdbcUrl("postgres"), env("POSTGRES_USER", "root"),
+                env("POSTGRES_PASSWORD", "root"));
+             PreparedStatement exists = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            exists.setString(1, database);
+            try (ResultSet rs = exists.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            try (Statement create = connection.createStatement()) {
+                create.execute("CREATE DATABASE " + database);
+            }
+        }
+    }
+
+    private static String jdbcUrl(String database) {
+        return "jdbc:postgresql://" + env("POSTGRES_HOST", "localhost") + ":" + env("DB_PORT", "5432") + "/" + database;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,157 @@
+package com.cesarschool.portalcientifico.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cenários do teste de carga. Cada iteração de um usuário virtual executa uma ação do cenário com um
+ * dos usuários logados; os rótulos de endpoint agrupam as rotas pelo padrão do controller.
+ * <ul>
+ *     <li>{@code browse}: listagem, feed, em alta, recomendados, de quem sigo e tópicos em alta;</li>
+ *     <li>{@code search}: busca textual e autocomplete;</li>
+ *     <li>{@code detail}: detalhe e comentários, com ids concentrados nos materiais populares;</li>
+ *     <li>{@code like-storm}: likes em poucos materiais quentes ao mesmo tempo;</li>
+ *     <li>{@code comment-burst}: comentários nos mesmos materiais quentes;</li>
+ *     <li>{@code upload}: envio multipart de um arquivo pequeno ao S3 simulado;</li>
+ *     <li>{@code social}: perfil, seguidores, seguir/deixar de seguir e sugestões.</li>
+ * </ul>
+ */
+final class Scenarios {
+
+    static final List<String> NAMES = List.of(
+            "browse", "search", "detail", "like-storm", "comment-burst", "upload", "social");
+
+    private static final int HOT_MATERIALS = 10;
+    private static final byte[] UPLOAD_FILE = new byte[64 * 1024];
+    private static final List<String> SEARCH_TERMS = List.of(
+            "algoritmos", "grafos", "cálculo", "direito", "anatomia", "marketing", "psicologia",
+            "didática", "redes", "compiladores", "estatística", "genética", "circuitos", "banco de dados");
+    private static final List<String> TYPES = List.of("ARTICLE", "NOTES", "TCC", "PRESENTATION", "EXERCISE");
+    private static final List<String> AREAS = List.of("COMPUTER_SCIENCE", "ENGINEERING", "MEDICINE", "LAW", "EDUCATION");
+
+    /** Uma requisição feita por um usuário virtual autenticado. */
+    interface Action {
+        void run(Session session, ThreadLocalRandom random);
+    }
+
+    record Session(String userId, String token) {
+    }
+
+    private final LoadClient client;
+    private final List<Long> materialIds;
+    private final List<Long> popularIds;
+    private final int users;
+
+    Scenarios(LoadClient client, List<Long> materialIds, List<Long> popularIds, int users) {
+        this.client = client;
+        this.materialIds = materialIds;
+        this.popularIds = popularIds;
+        this.users = users;
+    }
+
+    Action get(String name) {
+        Action action = actions().get(name);
+        if (action == null) {
+            throw new IllegalArgumentException("Cenário desconhecido: " + name + ". Disponíveis: " + NAMES);
+        }
+        return action;
+    }
+
+    private Map<String, Action> actions() {
+        return Map.of(
+                "browse", this::browse,
+                "search", this::search,
+                "detail", this::detail,
+                "like-storm", this::likeStorm,
+                "comment-burst", this::commentBurst,
+                "upload", this::upload,
+                "social", this::social);
+    }
+
+    private void browse(Session session, ThreadLocalRandom random) {
+        String token = session.token();
+        switch (random.nextInt(6)) {
+            case 0 -> client.get("GET /v1/materials", "/v1/materials?size=20&page=" + random.nextInt(50), token);
+            case 1 -> client.get("GET /v1/materials/feed", "/v1/materials/feed?size=20", token);
+            case 2 -> client.get("GET /v1/materials/trending", "/v1/materials/trending?size=20", token);
+            case 3 -> client.get("GET /v1/materials/recommended", "/v1/materials/recommended?size=20", token);
+            case 4 -> client.get("GET /v1/materials/following", "/v1/materials/following?size=20", token);
+            default -> client.get("GET /v1/materials/trending-topics", "/v1/materials/trending-topics", token);
+        }
+    }
+
+    private void search(Session session, ThreadLocalRandom random) {
+        String term = SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size()));
+        if (random.nextInt(3) == 0) {
+            client.get("GET /v1/materials/autocomplete",
+                    "/v1/materials/autocomplete?prefix=" + encode(term.substring(0, 3)), session.token());
+        } else {
+            client.get("GET /v1/materials?search", "/v1/materials?size=20&search=" + encode(term), session.token());
+        }
+    }
+
+    private void detail(Session session, ThreadLocalRandom random) {
+        long id = skewedMaterial(random);
+        client.get("GET /v1/materials/{id}", "/v1/materials/" + id, session.token());
+        if (random.nextInt(2) == 0) {
+            client.get("GET /v1/materials/{id}/comments", "/v1/materials/" + id + "/comments?size=20", session.token());
+        }
+    }
+
+    private void likeStorm(Session session, ThreadLocalRandom random) {
+        client.postJson("POST /v1/materials/{id}/like", "/v1/materials/" + hotMaterial(random) + "/like",
+                session.token(), Map.of());
+    }
+
+    private void commentBurst(Session session, ThreadLocalRandom random) {
+        client.postJson("POST /v1/materials/{id}/comments", "/v1/materials/" + hotMaterial(random) + "/comments",
+                session.token(), Map.of("content", "Comentário de carga " + random.nextInt(1_000_000)));
+    }
+
+    private void upload(Session session, ThreadLocalRandom random) {
+        String term = SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size()));
+        Map<String, Object> material = Map.of(
+                "title", "Upload de carga sobre " + term,
+                "description", "Material enviado pelo teste de carga",
+                "type", TYPES.get(random.nextInt(TYPES.size())),
+                "area", AREAS.get(random.nextInt(AREAS.size())),
+                "keywords", List.of(term, "carga"));
+        client.postMultipart("POST /v1/materials", "/v1/materials", session.token(), material,
+                "carga.pdf", UPLOAD_FILE);
+    }
+
+    private void social(Session session, ThreadLocalRandom random) {
+        String target = DatasetSeeder.USER_PREFIX + (1 + random.nextInt(users));
+        String token = session.token();
+        switch (random.nextInt(5)) {
+            case 0 -> client.get("GET /v1/users/{id}", "/v1/users/" + target, token);
+            case 1 -> client.get("GET /v1/users/{id}/followers", "/v1/users/" + target + "/followers?page=0&size=20", token);
+            case 2 -> {
+                if (!target.equals(session.userId())) {
+                    client.postJson("POST /v1/users/{id}/follow", "/v1/users/" + target + "/follow", token, Map.of());
+                }
+            }
+            case 3 -> client.get("GET /v1/users/{id}/follow/status", "/v1/users/" + target + "/follow/status", token);
+            default -> client.get("GET /v1/users/me/follow-suggestions", "/v1/users/me/follow-suggestions", token);
+        }
+    }
+
+    /** Metade das leituras vai para os materiais populares, a outra metade para qualquer material. */
+    private long skewedMaterial(ThreadLocalRandom random) {
+        if (!popularIds.isEmpty() && random.nextBoolean()) {
+            return popularIds.get(random.nextInt(popularIds.size()));
+        }
+        return materialIds.get(random.nextInt(materialIds.size()));
+    }
+
+    private long hotMaterial(ThreadLocalRandom random) {
+        return popularIds.get(random.nextInt(Math.min(HOT_MATERIALS, popularIds.size())));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}